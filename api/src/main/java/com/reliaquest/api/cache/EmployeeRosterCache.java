@@ -0,0 +1,223 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process copy of the upstream roster so read endpoints don't each spend an upstream request.
+ * <p>
+ * The first read loads the roster; after that reads are answered from the current snapshot. Once a snapshot is
+ * older than the TTL, the next read kicks off a background refresh and keeps being answered from the stale snapshot
+ * until the refresh lands. Local creates and deletes patch the snapshot in place of a refetch; a refresh that was
+ * already in flight gets them replayed onto what it fetched, so it never has to be thrown away.
+ */
+public class EmployeeRosterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeRosterCache.class);
+
+    private final Supplier<Mono<List<Employee>>> loader;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Written only while holding the monitor, read without it.
+    private volatile RosterSnapshot current;
+    // Bumped on every local patch so a refresh that started before it knows to replay it.
+    private long generation;
+    // List the loader returned for the current snapshot, or null once the snapshot has been patched locally.
+    private List<Employee> loadedFrom;
+    // Local patches made after generation replayableFrom while a refresh was in flight, oldest first, to replay onto
+    // what it fetched.
+    private final List<LocalWrite> localWrites = new ArrayList<>();
+    private long replayableFrom;
+
+    public EmployeeRosterCache(Supplier<Mono<List<Employee>>> loader, Duration ttl, Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Current snapshot, loading it on first use. Never waits on a refresh once a snapshot exists.
+     */
+    public Mono<RosterSnapshot> snapshot() {
+        return Mono.defer(() -> {
+            RosterSnapshot snapshot = current;
+            if (snapshot == null) {
+                return load();
+            }
+            if (isExpired(snapshot)) {
+                refreshInBackground();
+            }
+            return Mono.just(snapshot);
+        });
+    }
+
+    /**
+     * Snapshot held right now, without loading or refreshing anything.
+     */
+    public Optional<RosterSnapshot> cached() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Whether {@code snapshot} is past its TTL, so a read of it has kicked off a refresh that hasn't landed yet.
+     */
+    public boolean isExpired(RosterSnapshot snapshot) {
+        return snapshot.isOlderThan(ttl, clock.instant());
+    }
+
+    public synchronized void add(Employee employee) {
+        if (current != null) {
+            patch(current.withAdded(employee),
+                    snapshot -> snapshot.findById(employee.id()).isPresent() ? snapshot : snapshot.withAdded(employee));
+        }
+    }
+
+    public synchronized void add(List<Employee> employees) {
+        if (current != null && !employees.isEmpty()) {
+            patch(current.withAdded(employees), snapshot -> {
+                List<Employee> missing = employees.stream()
+                        .filter(employee -> snapshot.findById(employee.id()).isEmpty())
+                        .toList();
+                return missing.isEmpty() ? snapshot : snapshot.withAdded(missing);
+            });
+        }
+    }
+
+    public synchronized void removeFirstNamed(String name) {
+        if (current != null) {
+            Optional<Employee> removed = current.employees().stream()
+                    .filter(employee -> name.equalsIgnoreCase(employee.name()))
+                    .findFirst();
+            if (removed.isEmpty()) {
+                // Upstream deleted someone we don't know about, so our copy is behind, and so may a racing refresh be.
+                patch(current.expired(), RosterSnapshot::expired);
+            } else {
+                // Replayed by id: a refresh that already misses them must not lose one of their namesakes.
+                String removedId = removed.get().id();
+                patch(current.withoutId(removedId), snapshot -> snapshot.withoutId(removedId));
+            }
+        }
+    }
+
+    public synchronized void removeId(String id) {
+        if (current != null) {
+            RosterSnapshot patched = current.withoutId(id);
+            patch(patched == current ? current.expired() : patched, snapshot -> snapshot.withoutId(id));
+        }
+    }
+
+    public synchronized void removeIds(List<String> ids) {
+        if (current != null && !ids.isEmpty()) {
+            Set<String> removed = Set.copyOf(ids);
+            RosterSnapshot patched = current.withoutIds(removed);
+            boolean allFound = patched.employees().size() == current.employees().size() - removed.size();
+            patch(allFound ? patched : patched.expired(), snapshot -> snapshot.withoutIds(removed));
+        }
+    }
+
+    /**
+     * Keeps serving the current snapshot but refreshes it on the next read.
+     */
+    public synchronized void invalidate() {
+        if (current != null) {
+            current = current.expired();
+        }
+    }
+
+    private Mono<RosterSnapshot> load() {
+        return Mono.defer(() -> {
+            long startedAt = generationNow();
+            return loader.get().map(employees -> publish(employees, startedAt));
+        });
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        logger.debug("Roster snapshot older than {}, refreshing in background", ttl);
+        load()
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(
+                        snapshot -> logger.debug("Roster snapshot refreshed with {} employees",
+                                snapshot.employees().size()),
+                        this::logRefreshFailure);
+    }
+
+    private void logRefreshFailure(Throwable ex) {
+        if (ex instanceof CircuitOpenException) {
+            // Every refresh fails this way until the circuit closes, and the breaker already warned when it opened.
+            logger.debug("Background roster refresh skipped while the circuit is open, still serving snapshot from {}",
+                    current.fetchedAt());
+        } else {
+            logger.warn("Background roster refresh failed, still serving snapshot from {}", current.fetchedAt(), ex);
+        }
+    }
+
+    // Caller holds the monitor and has checked that there is a snapshot to patch.
+    private void patch(RosterSnapshot patched, UnaryOperator<RosterSnapshot> replay) {
+        current = patched;
+        loadedFrom = null;
+        generation++;
+        if (refreshing.get()) {
+            localWrites.add(new LocalWrite(generation, replay));
+        } else {
+            // A refresh starting from here on sees this generation already, so nothing needs replaying.
+            localWrites.clear();
+            replayableFrom = generation;
+        }
+    }
+
+    private synchronized RosterSnapshot publish(List<Employee> employees, long startedAt) {
+        if (current != null && generation != startedAt) {
+            if (startedAt < replayableFrom) {
+                // Raced writes that weren't kept; only a load started before the first snapshot gets here.
+                logger.debug("Discarding roster load that raced a local write");
+                return current;
+            }
+            // Local writes raced the fetch, which may or may not include them; the replays are idempotent.
+            RosterSnapshot replayed = RosterSnapshot.of(employees, clock.instant());
+            for (LocalWrite write : localWrites) {
+                if (write.generation() > startedAt) {
+                    replayed = write.replay().apply(replayed);
+                }
+            }
+            logger.debug("Replayed local writes onto a roster refresh that raced them");
+            current = replayed;
+            loadedFrom = null;
+        } else {
+            // The loader hands back the very same list when upstream answered "not modified"; keep the indexes.
+            current = employees == loadedFrom
+                    ? current.refreshedAt(clock.instant())
+                    : RosterSnapshot.of(employees, clock.instant());
+            loadedFrom = employees;
+        }
+        // Loads from now on start at this generation or later, so earlier patches will never be replayed again.
+        localWrites.clear();
+        replayableFrom = generation;
+        return current;
+    }
+
+    private synchronized long generationNow() {
+        return generation;
+    }
+
+    private record LocalWrite(long generation, UnaryOperator<RosterSnapshot> replay) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.NameMatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-folded name lookup kept next to a {@link RosterSnapshot}.
+ * <p>
+ * Names are folded once when the index is built, so a query folds only the search string. Exact matches are a hash
+ * lookup and prefix matches a binary search over the sorted distinct names. Substring matches go through a trigram
+ * index that is built the first time a snapshot is asked for one, since most snapshots never are. Employees sharing
+ * a name are returned in roster order.
+ */
+public final class NameIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, List<Employee>> byFoldedName;
+    private final String[] sortedNames;
+
+    // Benign race: two first callers may both build it, and either result is correct.
+    private volatile Map<String, Postings> grams;
+
+    private NameIndex(Map<String, List<Employee>> byFoldedName, String[] sortedNames) {
+        this.byFoldedName = byFoldedName;
+        this.sortedNames = sortedNames;
+    }
+
+    public static NameIndex of(List<Employee> employees) {
+        Map<String, List<Employee>> byName = new HashMap<>();
+        for (Employee employee : employees) {
+            if (employee.name() != null) {
+                byName.computeIfAbsent(fold(employee.name()), key -> new ArrayList<>(1)).add(employee);
+            }
+        }
+        byName.replaceAll((name, sameName) -> List.copyOf(sameName));
+        String[] sortedNames = byName.keySet().toArray(new String[0]);
+        Arrays.sort(sortedNames);
+        return new NameIndex(byName, sortedNames);
+    }
+
+    public static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public List<Employee> find(String searchString, NameMatch match) {
+        String folded = fold(searchString);
+        return switch (match) {
+            case EXACT -> byFoldedName.getOrDefault(folded, List.of());
+            case PREFIX -> findByPrefix(folded);
+            case CONTAINS -> findContaining(folded);
+        };
+    }
+
+    /**
+     * Copies the name map, and the sorted names when the name is new: O(n), see {@link RosterSnapshot} for why.
+     */
+    public NameIndex withAdded(Employee employee) {
+        if (employee.name() == null) {
+            return this;
+        }
+        String name = fold(employee.name());
+        List<Employee> sameName = byFoldedName.getOrDefault(name, List.of());
+        List<Employee> patchedSameName = new ArrayList<>(sameName.size() + 1);
+        patchedSameName.addAll(sameName);
+        patchedSameName.add(employee);
+
+        Map<String, List<Employee>> patched = new HashMap<>(byFoldedName);
+        patched.put(name, List.copyOf(patchedSameName));
+        if (!sameName.isEmpty()) {
+            return new NameIndex(patched, sortedNames);
+        }
+        int slot = -Arrays.binarySearch(sortedNames, name) - 1;
+        String[] patchedNames = new String[sortedNames.length + 1];
+        System.arraycopy(sortedNames, 0, patchedNames, 0, slot);
+        patchedNames[slot] = name;
+        System.arraycopy(sortedNames, slot, patchedNames, slot + 1, sortedNames.length - slot);
+        return new NameIndex(patched, patchedNames);
+    }
+
+    /**
+     * Copies like {@link #withAdded}, and leaves the sorted names alone unless the last employee with the name goes.
+     */
+    public NameIndex without(Employee employee) {
+        if (employee.name() == null) {
+            return this;
+        }
+        String name = fold(employee.name());
+        List<Employee> sameName = byFoldedName.getOrDefault(name, List.of());
+        if (!sameName.contains(employee)) {
+            return this;
+        }
+        Map<String, List<Employee>> patched = new HashMap<>(byFoldedName);
+        if (sameName.size() > 1) {
+            List<Employee> patchedSameName = new ArrayList<>(sameName);
+            patchedSameName.remove(employee);
+            patched.put(name, List.copyOf(patchedSameName));
+            return new NameIndex(patched, sortedNames);
+        }
+        patched.remove(name);
+        int slot = Arrays.binarySearch(sortedNames, name);
+        String[] patchedNames = new String[sortedNames.length - 1];
+        System.arraycopy(sortedNames, 0, patchedNames, 0, slot);
+        System.arraycopy(sortedNames, slot + 1, patchedNames, slot, patchedNames.length - slot);
+        return new NameIndex(patched, patchedNames);
+    }
+
+    private List<Employee> findByPrefix(String prefix) {
+        int from = Arrays.binarySearch(sortedNames, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        List<Employee> matches = new ArrayList<>();
+        for (int i = from; i < sortedNames.length && sortedNames[i].startsWith(prefix); i++) {
+            matches.addAll(byFoldedName.get(sortedNames[i]));
+        }
+        return matches;
+    }
+
+    private List<Employee> findContaining(String fragment) {
+        List<Employee> matches = new ArrayList<>();
+        if (fragment.length() < GRAM) {
+            for (String name : sortedNames) {
+                if (name.contains(fragment)) {
+                    matches.addAll(byFoldedName.get(name));
+                }
+            }
+            return matches;
+        }
+
+        // Every trigram of the fragment has to occur in a matching name, so the rarest one bounds the candidates.
+        Map<String, Postings> index = grams();
+        Postings candidates = null;
+        for (int i = 0; i + GRAM <= fragment.length(); i++) {
+            Postings postings = index.get(fragment.substring(i, i + GRAM));
+            if (postings == null) {
+                return matches;
+            }
+            if (candidates == null || postings.size < candidates.size) {
+                candidates = postings;
+            }
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            String name = sortedNames[candidates.names[i]];
+            if (name.contains(fragment)) {
+                matches.addAll(byFoldedName.get(name));
+            }
+        }
+        return matches;
+    }
+
+    private Map<String, Postings> grams() {
+        Map<String, Postings> built = grams;
+        if (built == null) {
+            built = new HashMap<>();
+            for (int n = 0; n < sortedNames.length; n++) {
+                String name = sortedNames[n];
+                for (int i = 0; i + GRAM <= name.length(); i++) {
+                    built.computeIfAbsent(name.substring(i, i + GRAM), gram -> new Postings()).add(n);
+                }
+            }
+            grams = built;
+        }
+        return built;
+    }
+
+    /**
+     * Ascending positions in {@code sortedNames} whose name contains a given trigram.
+     */
+    private static final class Postings {
+
+        private int[] names = new int[4];
+        private int size;
+
+        void add(int name) {
+            // A name repeating a trigram ("Anna Annan") would otherwise be listed, and matched, twice.
+            if (size > 0 && names[size - 1] == name) {
+                return;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            names[size++] = name;
+        }
+    }
+}
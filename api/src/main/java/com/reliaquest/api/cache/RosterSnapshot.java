@@ -0,0 +1,105 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable copy of the upstream employee roster as of {@code fetchedAt}, together with the indexes read endpoints
+ * answer from. Local writes never mutate a snapshot; they produce a patched copy instead.
+ * <p>
+ * A patch copies the employee list and the name index's map, so it is O(n) in the roster. That is an accepted cost:
+ * patches only follow writes the mock server accepted, and its request limit, a handful of requests a minute by
+ * default, keeps those rare, while every read request hits the snapshot. Persistent structures would make each write O(log n) at the price
+ * of slower, pointer-chasing reads.
+ */
+public record RosterSnapshot(
+        List<Employee> employees,
+        SalaryIndex salaries,
+        NameIndex names,
+        Instant fetchedAt
+) {
+
+    public RosterSnapshot {
+        employees = List.copyOf(employees);
+    }
+
+    public static RosterSnapshot of(List<Employee> employees, Instant fetchedAt) {
+        return new RosterSnapshot(employees, SalaryIndex.of(employees), NameIndex.of(employees), fetchedAt);
+    }
+
+    public boolean isOlderThan(Duration ttl, Instant now) {
+        return fetchedAt.plus(ttl).isBefore(now);
+    }
+
+    public Optional<Employee> findById(String id) {
+        return employees.stream()
+                .filter(employee -> employee.id().equals(id))
+                .findFirst();
+    }
+
+    /**
+     * Same data, confirmed current as of {@code now}.
+     */
+    public RosterSnapshot refreshedAt(Instant now) {
+        return new RosterSnapshot(employees, salaries, names, now);
+    }
+
+    /**
+     * Same data, but due for refresh on the next read.
+     */
+    public RosterSnapshot expired() {
+        return new RosterSnapshot(employees, salaries, names, Instant.EPOCH);
+    }
+
+    public RosterSnapshot withAdded(Employee employee) {
+        List<Employee> patched = new ArrayList<>(employees.size() + 1);
+        patched.addAll(employees);
+        patched.add(employee);
+        return new RosterSnapshot(patched, salaries.withAdded(employee), names.withAdded(employee), fetchedAt);
+    }
+
+    /**
+     * Batch form of {@link #withAdded(Employee)}: the indexes are rebuilt once instead of patched per employee.
+     */
+    public RosterSnapshot withAdded(List<Employee> added) {
+        List<Employee> patched = new ArrayList<>(employees.size() + added.size());
+        patched.addAll(employees);
+        patched.addAll(added);
+        return of(patched, fetchedAt);
+    }
+
+    /**
+     * Returns {@code this} when nobody has that id.
+     */
+    public RosterSnapshot withoutId(String id) {
+        for (int i = 0; i < employees.size(); i++) {
+            if (employees.get(i).id().equals(id)) {
+                List<Employee> patched = new ArrayList<>(employees);
+                Employee removed = patched.remove(i);
+                return new RosterSnapshot(patched, salaries.without(removed), names.without(removed), fetchedAt);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Batch form of {@link #withoutId(String)}, with the indexes rebuilt once. Returns {@code this} when nobody has
+     * any of the ids.
+     */
+    public RosterSnapshot withoutIds(Collection<String> ids) {
+        Set<String> removed = new HashSet<>(ids);
+        List<Employee> patched = employees.stream()
+                .filter(employee -> !removed.contains(employee.id()))
+                .toList();
+        return patched.size() == employees.size() ? this : of(patched, fetchedAt);
+    }
+
+}
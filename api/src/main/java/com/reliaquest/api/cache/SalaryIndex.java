@@ -0,0 +1,110 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Employees ordered by salary, highest first, kept next to a {@link RosterSnapshot}.
+ * <p>
+ * Built with one sort per fetched roster; local creates and deletes then binary-search their slot instead of
+ * re-sorting. Like the snapshot it belongs to, an index is immutable and every change returns a new one, so the
+ * backing array is only ever read by the snapshot that owns it. Employees with equal salaries keep roster order,
+ * the same tie-break the old per-request stable sort produced.
+ */
+public final class SalaryIndex {
+
+    private static final SalaryIndex EMPTY = new SalaryIndex(new Employee[0]);
+
+    private static final Comparator<Employee> HIGHEST_FIRST = Comparator.comparingInt(Employee::salary).reversed();
+
+    private final Employee[] bySalaryDesc;
+
+    private SalaryIndex(Employee[] bySalaryDesc) {
+        this.bySalaryDesc = bySalaryDesc;
+    }
+
+    public static SalaryIndex of(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return EMPTY;
+        }
+        Employee[] sorted = employees.toArray(new Employee[0]);
+        // Arrays.sort on objects is stable, which is what keeps ties in roster order.
+        Arrays.sort(sorted, HIGHEST_FIRST);
+        return new SalaryIndex(sorted);
+    }
+
+    public int size() {
+        return bySalaryDesc.length;
+    }
+
+    public OptionalInt highestSalary() {
+        return bySalaryDesc.length == 0 ? OptionalInt.empty() : OptionalInt.of(bySalaryDesc[0].salary());
+    }
+
+    /**
+     * The {@code k} best paid employees, best paid first.
+     */
+    public List<Employee> top(int k) {
+        return List.of(Arrays.copyOf(bySalaryDesc, Math.min(k, bySalaryDesc.length)));
+    }
+
+    /**
+     * New employees join the end of the roster, so they go after everyone already on the same salary.
+     */
+    public SalaryIndex withAdded(Employee employee) {
+        int slot = firstPaidLessThan(employee.salary());
+        Employee[] patched = new Employee[bySalaryDesc.length + 1];
+        System.arraycopy(bySalaryDesc, 0, patched, 0, slot);
+        patched[slot] = employee;
+        System.arraycopy(bySalaryDesc, slot, patched, slot + 1, bySalaryDesc.length - slot);
+        return new SalaryIndex(patched);
+    }
+
+    /**
+     * Removes exactly this employee. Other employees sharing the salary, the name, or both are left alone.
+     */
+    public SalaryIndex without(Employee employee) {
+        int end = firstPaidLessThan(employee.salary());
+        for (int i = firstPaidAtMost(employee.salary()); i < end; i++) {
+            if (bySalaryDesc[i].equals(employee)) {
+                Employee[] patched = new Employee[bySalaryDesc.length - 1];
+                System.arraycopy(bySalaryDesc, 0, patched, 0, i);
+                System.arraycopy(bySalaryDesc, i + 1, patched, i, patched.length - i);
+                return new SalaryIndex(patched);
+            }
+        }
+        return this;
+    }
+
+    private int firstPaidAtMost(int salary) {
+        int low = 0;
+        int high = bySalaryDesc.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySalaryDesc[mid].salary() > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstPaidLessThan(int salary) {
+        int low = 0;
+        int high = bySalaryDesc.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySalaryDesc[mid].salary() >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.client;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+
+/**
+ * Takes a permit from the {@link AdaptiveRateLimiter} for every request (GETs as reads, the rest as writes) and
+ * reports what became of it, however the exchange ends: a 429 is a rejection, a 304 was not counted and any other
+ * response was accepted. A connection that could not be opened never reached the mock server, so its permit goes
+ * back. Any other error, or a cancelled exchange, may or may not have been counted upstream; its permit stays spent
+ * but the limiter learns nothing from it.
+ */
+public class AdaptiveRateLimitFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter limiter;
+
+    public AdaptiveRateLimitFilter(AdaptiveRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        AdaptiveRateLimiter.Priority priority = request.method() == HttpMethod.GET
+                ? AdaptiveRateLimiter.Priority.READ
+                : AdaptiveRateLimiter.Priority.WRITE;
+        return limiter.acquire(priority)
+                .flatMap(permit -> next.exchange(request)
+                        .doOnNext(response -> {
+                            if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                                permit.rejected();
+                            } else if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                                permit.notCounted();
+                            } else {
+                                permit.accepted();
+                            }
+                        })
+                        .doOnError(error -> {
+                            if (NestedExceptionUtils.getMostSpecificCause(error) instanceof ConnectException) {
+                                permit.notCounted();
+                            }
+                        })
+                        // Only the first report counts, so this only settles exchanges nothing above reported.
+                        .doFinally(signal -> permit.unanswered()));
+    }
+}
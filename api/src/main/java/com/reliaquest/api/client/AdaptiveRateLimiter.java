@@ -0,0 +1,310 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import com.reliaquest.api.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shapes outgoing requests to the mock server, which accepts a fixed number of requests per window and answers 429
+ * to the rest. A window opens with the first request after the previous one closed and lasts a fixed time from then,
+ * however many requests it saw.
+ * <p>
+ * Permits are handed out per window. The window size (budget) is learned from how many requests were accepted
+ * before the first 429; until a 429 has been seen the budget grows by one each time it is used up. The cooldown, how
+ * long after a window opened the next one opens, is learned from the first request after it: a 429 doubles the
+ * cooldown, an accepted request shortens it by {@code cooldownStep}. Once a window is spent, requests fail locally with
+ * {@link RateLimitExceededException} rather than making a round-trip that is bound to be rejected, unless the
+ * cooldown ends within {@code maxWait}.
+ * <p>
+ * Writes win over reads: the last {@code writeReserve} permits of each window are only handed to writes. Reads that
+ * find only the reserve left probe a larger budget while none has been learned yet; after that they wait for
+ * {@code reserveHold} and then use the reserve themselves, so a window without writes still gets spent and ends.
+ */
+public class AdaptiveRateLimiter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    public enum Priority {
+        READ,
+        WRITE
+    }
+
+    private final int writeReserve;
+    private final Duration reserveHold;
+    private final Duration minCooldown;
+    private final Duration maxCooldown;
+    private final Duration cooldownStep;
+    private final Duration maxWait;
+    private final Clock clock;
+
+    private final LongAdder localRejections = new LongAdder();
+    private final LongAdder upstreamRejections = new LongAdder();
+
+    // All window state below is guarded by this.
+    private int budget;
+    private int ceiling = Integer.MAX_VALUE;
+    private Duration cooldown;
+    private long window;
+    private int granted;
+    private int accepted;
+    private boolean rejectedInWindow;
+    private boolean exhausted;
+    private Instant exhaustedAt;
+    private Instant reservedSince;
+    private Instant openedAt;
+
+    public AdaptiveRateLimiter(EmployeeClientProperties.RateLimit settings, Clock clock) {
+        this.budget = settings.initialBudget();
+        this.writeReserve = settings.writeReserve();
+        this.reserveHold = settings.reserveHold();
+        this.cooldown = settings.initialCooldown();
+        this.minCooldown = settings.minCooldown();
+        this.maxCooldown = settings.maxCooldown();
+        this.cooldownStep = settings.cooldownStep();
+        this.maxWait = settings.maxWait();
+        this.clock = clock;
+    }
+
+    /**
+     * Emits a permit once the request may be sent. Report the outcome through {@link Permit#accepted()},
+     * {@link Permit#rejected()}, {@link Permit#notCounted()} or {@link Permit#unanswered()} so the limiter can learn
+     * from it.
+     */
+    public Mono<Permit> acquire(Priority priority) {
+        return Mono.defer(() -> acquire(priority, clock.instant().plus(maxWait)));
+    }
+
+    public synchronized int budget() {
+        return budget;
+    }
+
+    public synchronized Duration cooldown() {
+        return cooldown;
+    }
+
+    public long localRejectionCount() {
+        return localRejections.sum();
+    }
+
+    public long upstreamRejectionCount() {
+        return upstreamRejections.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.upstream.rate.limit.budget", this, AdaptiveRateLimiter::budget)
+                .description("Requests the mock server is expected to accept per window")
+                .register(registry);
+        Gauge.builder("employee.upstream.rate.limit.cooldown", this, limiter -> limiter.cooldown().toMillis() / 1000.0)
+                .description("Expected time from a window opening until the mock server opens the next one")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.rate.limit.rejections", localRejections, LongAdder::sum)
+                .description("Requests failed locally because the window was spent")
+                .tag("source", "local")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.rate.limit.rejections", upstreamRejections, LongAdder::sum)
+                .description("Requests the mock server answered with 429")
+                .tag("source", "upstream")
+                .register(registry);
+    }
+
+    private Mono<Permit> acquire(Priority priority, Instant deadline) {
+        Instant now = clock.instant();
+        Decision decision = tryAcquire(priority, now);
+        if (decision.permit() != null) {
+            return Mono.just(decision.permit());
+        }
+        if (decision.retryAt() != null && !decision.retryAt().isAfter(deadline)) {
+            return Mono.delay(Duration.between(now, decision.retryAt()))
+                    .then(Mono.defer(() -> acquire(priority, deadline)));
+        }
+        localRejections.increment();
+        logger.debug("Failing {} request locally; upstream request budget is spent", priority);
+        return Mono.error(
+                new RateLimitExceededException("Upstream request budget is spent until " + decision.retryAt()));
+    }
+
+    private synchronized Decision tryAcquire(Priority priority, Instant now) {
+        if (exhausted) {
+            Instant cooldownEnds = cooldownEndsAt();
+            if (now.isBefore(cooldownEnds)) {
+                return Decision.waitUntil(cooldownEnds);
+            }
+            startWindow();
+        }
+
+        int reserve = priority == Priority.WRITE ? 0 : Math.min(writeReserve, budget - 1);
+        if (granted < budget - reserve) {
+            return grant();
+        }
+        if (granted < budget) {
+            if (ceiling == Integer.MAX_VALUE) {
+                budget++;
+                logger.debug("Unreserved budget used up without a 429; probing a budget of {}", budget);
+                return grant();
+            }
+            if (reservedSince == null) {
+                reservedSince = now;
+            }
+            Instant released = reservedSince.plus(reserveHold);
+            if (now.isBefore(released)) {
+                return Decision.waitUntil(released);
+            }
+            return grant();
+        }
+        if (budget + 1 < ceiling) {
+            budget++;
+            logger.debug("Request budget used up without a 429; probing a budget of {}", budget);
+            return grant();
+        }
+        exhaust(now);
+        return Decision.waitUntil(cooldownEndsAt());
+    }
+
+    private synchronized void onResponse(long permitWindow, boolean rejected) {
+        if (rejected) {
+            upstreamRejections.increment();
+        }
+        if (permitWindow != window) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        if (!rejected) {
+            accepted++;
+            if (accepted == 1) {
+                openedAt = now;
+            }
+            if (accepted > budget) {
+                budget = accepted;
+                ceiling = Math.max(ceiling, budget + 1);
+            }
+            if (accepted == 1 && window > 0) {
+                Duration shorter = cooldown.minus(cooldownStep);
+                cooldown = shorter.compareTo(minCooldown) < 0 ? minCooldown : shorter;
+            }
+            return;
+        }
+
+        if (rejectedInWindow) {
+            return;
+        }
+        rejectedInWindow = true;
+        if (accepted == 0) {
+            if (window > 0) {
+                Duration longer = cooldown.multipliedBy(2);
+                cooldown = longer.compareTo(maxCooldown) > 0 ? maxCooldown : longer;
+                logger.info("Rejected right after cooldown; upstream cooldown is now estimated at {}", cooldown);
+            }
+        } else {
+            budget = accepted;
+            ceiling = budget + 1;
+            logger.info("Rejected after {} accepted requests; upstream budget is now estimated at {}",
+                    accepted, budget);
+        }
+        exhaust(now);
+    }
+
+    private synchronized void onNotCounted(long permitWindow) {
+        if (permitWindow == window && granted > 0) {
+            granted--;
+        }
+    }
+
+    private Decision grant() {
+        granted++;
+        return new Decision(new Permit(window), null);
+    }
+
+    private void exhaust(Instant now) {
+        if (!exhausted) {
+            exhausted = true;
+            exhaustedAt = now;
+        }
+    }
+
+    private void startWindow() {
+        window++;
+        granted = 0;
+        accepted = 0;
+        rejectedInWindow = false;
+        exhausted = false;
+        exhaustedAt = null;
+        reservedSince = null;
+    }
+
+    // The mock server times its window from the first request it accepted in it. A window that was refused from the
+    // start is still the previous one on the server, so it is timed from when that one opened.
+    private Instant cooldownEndsAt() {
+        Instant from = openedAt != null ? openedAt : exhaustedAt;
+        return from.plus(cooldown);
+    }
+
+    /**
+     * Permission to send one request. Only the first reported outcome counts.
+     */
+    public final class Permit {
+
+        private final long window;
+
+        private boolean reported;
+
+        private Permit(long window) {
+            this.window = window;
+        }
+
+        public void accepted() {
+            report(false);
+        }
+
+        public void rejected() {
+            report(true);
+        }
+
+        /**
+         * The request ended without a response the mock server may or may not have counted, so the permit stays
+         * spent, but nothing is learned from it.
+         */
+        public synchronized void unanswered() {
+            reported = true;
+        }
+
+        /**
+         * The mock server answered without counting the request against its limit, as it does for a 304 on an
+         * unchanged roster, or never got it because no connection could be opened, so the permit goes back to the
+         * window.
+         */
+        public synchronized void notCounted() {
+            if (!reported) {
+                reported = true;
+                onNotCounted(window);
+            }
+        }
+
+        private synchronized void report(boolean rejected) {
+            if (!reported) {
+                reported = true;
+                onResponse(window, rejected);
+            }
+        }
+    }
+
+    private record Decision(Permit permit, Instant retryAt) {
+
+        static Decision waitUntil(Instant retryAt) {
+            return new Decision(null, retryAt);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.DeleteEmployeeRequest;
+import com.reliaquest.api.dto.ExternalBatchResultDto;
+import com.reliaquest.api.dto.ExternalEmployeeChangeDto;
+import com.reliaquest.api.dto.ExternalEmployeeDto;
+import com.reliaquest.api.dto.ResponseWrapperList;
+import com.reliaquest.api.dto.ResponseWrapperPage;
+import com.reliaquest.api.dto.ResponseWrapperSingle;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.ChangeFeedResetException;
+import com.reliaquest.api.model.AcknowledgedWrite;
+import com.reliaquest.api.model.BatchResult;
+import com.reliaquest.api.model.ChangeStream;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.RosterChange;
+import com.reliaquest.api.model.VersionedRoster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking calls to the mock employee API, mapped to our {@link Employee} model. Reads of the same resource
+ * that overlap in time share a single upstream request through {@link SingleFlight}, and every request goes
+ * through {@link UpstreamCircuitBreaker} so none are sent while the mock server keeps failing.
+ * <p>
+ * Roster fetches are conditional: the ETag of the last roster is sent as {@code If-None-Match}, and a 304 answer
+ * reuses the roster already decoded for it.
+ */
+@Component
+public class EmployeeApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeApiClient.class);
+
+    private static final String ROSTER_KEY = "roster";
+
+    // Set by the mock server on the roster, the change stream and creates, to place them in its change feed.
+    private static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+    private static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+
+    private final WebClient employeeWebClient;
+
+    private final SingleFlight singleFlight;
+
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    private final RosterStreamDecoder rosterDecoder;
+
+    // Last roster the mock server sent with an ETag, as it was upstream; local patches never touch it.
+    private volatile ValidatedRoster lastRoster;
+
+    public EmployeeApiClient(WebClient employeeWebClient, SingleFlight singleFlight,
+                             UpstreamCircuitBreaker circuitBreaker, RosterStreamDecoder rosterDecoder) {
+        this.employeeWebClient = employeeWebClient;
+        this.singleFlight = singleFlight;
+        this.circuitBreaker = circuitBreaker;
+        this.rosterDecoder = rosterDecoder;
+    }
+
+    public UpstreamCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    public Mono<List<Employee>> fetchRoster() {
+        return singleFlight.execute(ROSTER_KEY, () -> circuitBreaker.protect(fetchRosterIfChanged()));
+    }
+
+    /**
+     * The whole upstream roster with its change feed position. Always a full download; not coalesced with
+     * {@link #fetchRoster()}.
+     */
+    public Mono<VersionedRoster> fetchVersionedRoster() {
+        return circuitBreaker.protect(employeeWebClient
+                .get()
+                .uri("")
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(response -> decode(response).map(employees -> new VersionedRoster(
+                        longHeader(response, ROSTER_EPOCH_HEADER),
+                        longHeader(response, ROSTER_VERSION_HEADER),
+                        employees))));
+    }
+
+    /**
+     * Subscribes to creates and deletes after {@code since}, which the mock server pushes as they happen. Emits the
+     * stream, with the roster version its backlog runs up to, once the mock server has accepted the subscription.
+     * Fails with {@link ChangeFeedResetException} when the feed can't be continued from {@code since}. The stream sits
+     * idle between writes, so the usual response timeout is replaced by {@code idleTimeout}. Opening the stream goes
+     * through the breaker like any other call, so reconnects don't hammer a mock server that is down.
+     */
+    public Mono<ChangeStream> openChangeStream(long epoch, long since, Duration idleTimeout) {
+        return circuitBreaker.protect(employeeWebClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/changes/stream")
+                        .queryParam("since", since)
+                        .queryParam("epoch", epoch)
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .httpRequest(request -> {
+                    HttpClientRequest nativeRequest = request.getNativeRequest();
+                    nativeRequest.responseTimeout(idleTimeout);
+                })
+                .retrieve()
+                .toEntityFlux(new ParameterizedTypeReference<ServerSentEvent<ExternalEmployeeChangeDto>>() {
+                })
+                .onErrorMap(WebClientResponseException.Gone.class,
+                        ex -> new ChangeFeedResetException("Change feed can't be continued from " + since, ex))
+                .map(response -> new ChangeStream(headVersion(response, since), response.getBody() == null
+                        ? Flux.<RosterChange>empty()
+                        : response.getBody().<RosterChange>handle((event, sink) -> {
+                            if ("reset".equals(event.event())) {
+                                sink.error(new ChangeFeedResetException("Change feed fell too far behind"));
+                            } else if (event.data() != null) {
+                                ExternalEmployeeChangeDto change = event.data();
+                                sink.next(new RosterChange(change.sequence(),
+                                        RosterChange.Type.valueOf(change.type()), mapToInternal(change.employee())));
+                            }
+                        }))));
+    }
+
+    /**
+     * One page of the upstream roster. The mock server rejects cursors it did not issue, including ones from before a
+     * restart; that surfaces as a {@link BadRequestException}.
+     */
+    public Mono<EmployeePage> fetchPage(int limit, String cursor) {
+        return singleFlight.execute("roster?limit=" + limit + "&cursor=" + cursor,
+                        () -> circuitBreaker.protect(requestPage(limit, cursor)))
+                .onErrorMap(WebClientResponseException.BadRequest.class,
+                        ex -> new BadRequestException("Invalid or expired cursor: " + cursor, ex));
+    }
+
+    public Mono<Employee> fetchById(String id) {
+        return singleFlight.execute("employee/" + id, () -> circuitBreaker.protect(employeeWebClient
+                .get()
+                .uri("/{id}", id)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ResponseWrapperSingle<ExternalEmployeeDto>>() {
+                })
+                .mapNotNull(ResponseWrapperSingle::data)
+                .map(this::mapToInternal)));
+    }
+
+    /**
+     * Creates the employee upstream and emits it with the roster version the mock server acknowledged it at.
+     */
+    public Mono<AcknowledgedWrite<Employee>> create(CreateEmployeeRequest request) {
+        return circuitBreaker.protect(employeeWebClient
+                .post()
+                .uri("")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), CreateEmployeeRequest.class)
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<ResponseWrapperSingle<ExternalEmployeeDto>>() {
+                })
+                .mapNotNull(response -> response.getBody() == null || response.getBody().data() == null
+                        ? null
+                        : new AcknowledgedWrite<>(mapToInternal(response.getBody().data()),
+                                writeVersion(response))));
+    }
+
+    public Mono<Boolean> deleteByName(String name) {
+        return circuitBreaker.protect(employeeWebClient
+                .method(HttpMethod.DELETE)
+                .uri("")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new DeleteEmployeeRequest(name)), DeleteEmployeeRequest.class)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ResponseWrapperSingle<Boolean>>() {
+                })
+                .mapNotNull(ResponseWrapperSingle::data)
+                .defaultIfEmpty(false));
+    }
+
+    /**
+     * Deletes exactly the employee with that id in one upstream call and emits it, or completes empty when the mock
+     * server has no such employee.
+     */
+    public Mono<Employee> deleteById(String id) {
+        return circuitBreaker.protect(employeeWebClient
+                        .delete()
+                        .uri("/{id}", id)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ResponseWrapperSingle<ExternalEmployeeDto>>() {
+                        })
+                        .mapNotNull(ResponseWrapperSingle::data)
+                        .map(this::mapToInternal))
+                // 400 means the id isn't even a UUID, so nobody can have it.
+                .onErrorResume(ex -> ex instanceof WebClientResponseException.NotFound
+                        || ex instanceof WebClientResponseException.BadRequest, ex -> Mono.empty());
+    }
+
+    /**
+     * Creates every request in one upstream call. Results are in request order; the mock server validates each item
+     * and reports the invalid ones in their slot. A batch it rejects as a whole surfaces as a
+     * {@link BadRequestException}. The results come with the roster version the mock server acknowledged them at.
+     */
+    public Mono<AcknowledgedWrite<List<BatchResult<Employee>>>> createAll(List<CreateEmployeeRequest> requests) {
+        return circuitBreaker.protect(employeeWebClient
+                        .post()
+                        .uri("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(requests)
+                        .retrieve()
+                        .toEntity(new ParameterizedTypeReference<
+                                ResponseWrapperList<ExternalBatchResultDto<ExternalEmployeeDto>>>() {
+                        })
+                        .map(response -> new AcknowledgedWrite<>(
+                                batchResults(response.getBody(), this::mapToInternal), writeVersion(response))))
+                .onErrorMap(WebClientResponseException.BadRequest.class, this::batchRejected);
+    }
+
+    /**
+     * Deletes every id, in order, in one upstream call. A slot holds the deleted employee, or an error if the mock
+     * server had nobody with that id.
+     */
+    public Mono<List<BatchResult<Employee>>> deleteAllById(List<String> ids) {
+        return circuitBreaker.protect(employeeWebClient
+                        .method(HttpMethod.DELETE)
+                        .uri("/batch/ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ids)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<
+                                ResponseWrapperList<ExternalBatchResultDto<ExternalEmployeeDto>>>() {
+                        })
+                        .map(response -> batchResults(response, this::mapToInternal)))
+                .onErrorMap(WebClientResponseException.BadRequest.class, this::batchRejected);
+    }
+
+    private static <T, R> List<BatchResult<R>> batchResults(ResponseWrapperList<ExternalBatchResultDto<T>> response,
+                                                           Function<T, R> mapper) {
+        if (response == null || response.data() == null) {
+            return List.of();
+        }
+        return response.data().stream()
+                .map(result -> result.error() != null || result.data() == null
+                        ? BatchResult.<R>error(result.error() == null ? "No result" : result.error())
+                        : BatchResult.of(mapper.apply(result.data())))
+                .toList();
+    }
+
+    private BadRequestException batchRejected(WebClientResponseException ex) {
+        return new BadRequestException("Batch rejected by the mock server: " + ex.getResponseBodyAsString(), ex);
+    }
+
+    private Mono<List<Employee>> fetchRosterIfChanged() {
+        return Mono.defer(() -> {
+            ValidatedRoster previous = lastRoster;
+            return employeeWebClient
+                    .get()
+                    .uri("")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .headers(headers -> {
+                        if (previous != null) {
+                            headers.setIfNoneMatch(previous.etag());
+                        }
+                    })
+                    .retrieve()
+                    .toEntityFlux(DataBuffer.class)
+                    .flatMap(response -> previous != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED
+                            ? reuse(previous, response)
+                            : decode(response));
+        });
+    }
+
+    private Mono<List<Employee>> reuse(ValidatedRoster previous, ResponseEntity<Flux<DataBuffer>> response) {
+        return drain(response.getBody())
+                .then(Mono.fromSupplier(() -> {
+                    logger.info("Employee roster unchanged upstream (ETag {}), reusing {} employees",
+                            previous.etag(), previous.employees().size());
+                    return previous.employees();
+                }));
+    }
+
+    private Mono<List<Employee>> decode(ResponseEntity<Flux<DataBuffer>> response) {
+        return rosterDecoder.decode(response.getBody() == null ? Flux.empty() : response.getBody())
+                .map(this::mapToInternal)
+                // Straight into the unmodifiable list the cache keeps, rather than a list plus a copy of it.
+                .collect(Collectors.toUnmodifiableList())
+                .doOnNext(employees -> {
+                    String etag = response.getHeaders().getETag();
+                    lastRoster = etag == null ? null : new ValidatedRoster(etag, employees);
+                    logger.info("Fetched {} employees from external service", employees.size());
+                });
+    }
+
+    // A mock server that doesn't say how far its backlog runs is treated as having none.
+    private static long headVersion(ResponseEntity<?> response, long since) {
+        String value = response.getHeaders().getFirst(ROSTER_VERSION_HEADER);
+        return value == null ? since : Long.parseLong(value);
+    }
+
+    // -1 when the mock server doesn't say which version a write went in at.
+    private static long writeVersion(ResponseEntity<?> response) {
+        String value = response.getHeaders().getFirst(ROSTER_VERSION_HEADER);
+        return value == null ? -1 : Long.parseLong(value);
+    }
+
+    private static long longHeader(ResponseEntity<?> response, String name) {
+        String value = response.getHeaders().getFirst(name);
+        if (value == null) {
+            throw new IllegalStateException("Mock server did not send " + name);
+        }
+        return Long.parseLong(value);
+    }
+
+    private static Mono<Void> drain(Flux<DataBuffer> body) {
+        return body == null ? Mono.empty() : body.doOnNext(DataBufferUtils::release).then();
+    }
+
+    private Mono<EmployeePage> requestPage(int limit, String cursor) {
+        return employeeWebClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("limit", limit)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ResponseWrapperPage<ExternalEmployeeDto>>() {
+                })
+                .map(page -> new EmployeePage(
+                        page.data() == null ? List.of() : page.data().stream().map(this::mapToInternal).toList(),
+                        page.nextCursor()));
+    }
+
+    private Employee mapToInternal(ExternalEmployeeDto dto) {
+        logger.debug("Mapping ExternalEmployeeDto(id='{}') → Employee", dto.id());
+        return new Employee(
+                dto.id(),
+                dto.employeeName(),
+                dto.employeeSalary(),
+                dto.employeeAge(),
+                dto.employeeTitle(),
+                dto.employeeEmail()
+        );
+    }
+
+    private record ValidatedRoster(String etag, List<Employee> employees) {
+    }
+}
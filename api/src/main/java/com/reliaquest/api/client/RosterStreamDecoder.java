@@ -0,0 +1,163 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.dto.ExternalEmployeeDto;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the mock server's {@code {"data":[...],"status":...}} roster envelope incrementally, emitting each element
+ * of {@code data} as soon as its closing brace has arrived.
+ * <p>
+ * Only the bytes of the chunk being parsed and the tokens of the element being assembled are held at any time, so
+ * memory use doesn't grow with the size of the roster. Other envelope fields are skipped. A body that ends before the
+ * envelope is closed fails with {@link DecodingException} instead of yielding a partial roster.
+ */
+@Component
+public class RosterStreamDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    public RosterStreamDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Flux<ExternalEmployeeDto> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Session session = new Session();
+            return body.concatMapIterable(session::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(session.finish())))
+                    .doFinally(signal -> session.close());
+        });
+    }
+
+    /**
+     * Parser state for one response body.
+     */
+    private final class Session {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        private boolean receivedInput;
+        private boolean complete;
+        // Nesting depth of the envelope; data elements are tracked separately in elementDepth.
+        private int depth;
+        private boolean inData;
+        private TokenBuffer element;
+        private int elementDepth;
+
+        Session() {
+            try {
+                parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException ex) {
+                throw new DecodingException("Could not create roster parser", ex);
+            }
+            feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<ExternalEmployeeDto> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                if (bytes.length > 0) {
+                    receivedInput = true;
+                    feeder.feedInput(bytes, 0, bytes.length);
+                }
+                return drain();
+            } catch (IOException ex) {
+                throw new DecodingException("Could not parse roster response", ex);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<ExternalEmployeeDto> finish() {
+            feeder.endOfInput();
+            try {
+                List<ExternalEmployeeDto> decoded = drain();
+                if (receivedInput && !complete) {
+                    throw new DecodingException("Roster response ended before the JSON document was complete");
+                }
+                return decoded;
+            } catch (IOException ex) {
+                throw new DecodingException("Could not parse roster response", ex);
+            }
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // Nothing was written through this parser, so there is nothing to lose.
+            }
+        }
+
+        private List<ExternalEmployeeDto> drain() throws IOException {
+            List<ExternalEmployeeDto> decoded = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                ExternalEmployeeDto employee = accept(token);
+                if (employee != null) {
+                    decoded.add(employee);
+                }
+            }
+            return decoded;
+        }
+
+        private ExternalEmployeeDto accept(JsonToken token) throws IOException {
+            if (element != null) {
+                element.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    elementDepth++;
+                } else if (token.isStructEnd() && --elementDepth == 0) {
+                    try (JsonParser elementParser = element.asParser(objectMapper)) {
+                        element = null;
+                        return objectMapper.readValue(elementParser, ExternalEmployeeDto.class);
+                    }
+                }
+                return null;
+            }
+
+            if (inData && depth == 2) {
+                switch (token) {
+                    case START_OBJECT -> {
+                        element = new TokenBuffer(parser);
+                        element.copyCurrentEvent(parser);
+                        elementDepth = 1;
+                    }
+                    case END_ARRAY -> {
+                        inData = false;
+                        depth--;
+                    }
+                    case VALUE_NULL -> {
+                        // Nothing to map.
+                    }
+                    default -> throw new DecodingException("Unexpected " + token + " in roster data");
+                }
+                return null;
+            }
+
+            if (token.isStructStart()) {
+                depth++;
+                if (depth == 2 && token == JsonToken.START_ARRAY && "data".equals(parser.currentName())) {
+                    inData = true;
+                }
+            } else if (token.isStructEnd() && --depth == 0) {
+                complete = true;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent upstream calls for the same resource into one request.
+ * <p>
+ * The first caller for a key starts the call; anyone asking for the same key before it finishes subscribes to the
+ * same in-flight {@link Mono} instead of sending their own request. Once the call completes the key is free again,
+ * so this deduplicates concurrent work only and never serves cached results. Every flight is bounded by
+ * {@code maxWait}, which also bounds how long a caller that joined late can wait.
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(@Value("${employee.client.single-flight.max-wait:10s}") Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> join(key, call));
+    }
+
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.upstream.single.flight.calls", executed, LongAdder::sum)
+                .description("Upstream calls that were sent")
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.single.flight.calls", coalesced, LongAdder::sum)
+                .description("Upstream calls that joined one already in flight instead of being sent")
+                .tag("outcome", "coalesced")
+                .register(registry);
+        Gauge.builder("employee.upstream.single.flight.in.flight", inFlight, Map::size)
+                .description("Distinct upstream calls currently in flight")
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> join(String key, Supplier<Mono<T>> call) {
+        Mono<?> existing = inFlight.get(key);
+        if (existing != null) {
+            return coalesce(key, (Mono<T>) existing);
+        }
+
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        Mono<T> flight = Mono.defer(call)
+                .timeout(maxWait)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(flight);
+
+        Mono<?> raced = inFlight.putIfAbsent(key, flight);
+        if (raced != null) {
+            return coalesce(key, (Mono<T>) raced);
+        }
+        executed.increment();
+        return flight;
+    }
+
+    private <T> Mono<T> coalesce(String key, Mono<T> flight) {
+        coalesced.increment();
+        logger.debug("Joining in-flight upstream call for '{}'", key);
+        return flight;
+    }
+}
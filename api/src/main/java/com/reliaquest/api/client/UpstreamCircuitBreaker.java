@@ -0,0 +1,170 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.UpstreamRateLimitException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stops calling the mock server while it is failing, most often because it is in its 429 backoff.
+ * <p>
+ * After {@code failureThreshold} consecutive failures (429, 5xx, connection errors or timeouts) the breaker opens and
+ * calls fail immediately with {@link CircuitOpenException}. Once {@code openDuration} has passed it lets exactly one
+ * probe through: success closes it again, failure reopens it for another {@code openDuration}. Other 4xx responses
+ * mean the mock server is up and count as successes.
+ */
+public class UpstreamCircuitBreaker implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by this.
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    public UpstreamCircuitBreaker(EmployeeClientProperties.CircuitBreaker settings, Clock clock) {
+        this.failureThreshold = settings.failureThreshold();
+        this.openDuration = settings.openDuration();
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code call} if the breaker allows it, recording the outcome.
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            Admission admission = tryAcquire();
+            if (admission == Admission.REJECTED) {
+                rejected.increment();
+                return Mono.error(new CircuitOpenException("Employee service is unavailable; circuit is open",
+                        retryAfter()));
+            }
+            boolean probe = admission == Admission.PROBE;
+            return call
+                    .doOnSuccess(result -> onResult(probe, false))
+                    .doOnError(ex -> onResult(probe, isFailure(ex)))
+                    .doOnCancel(() -> onCancel(probe));
+        });
+    }
+
+    /**
+     * Current state, reporting {@link State#HALF_OPEN} as soon as the open period is over even if no probe has
+     * been sent yet.
+     */
+    public synchronized State state() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized Duration retryAfter() {
+        if (state == State.CLOSED) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), openedAt.plus(openDuration));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.upstream.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("Circuit breaker state around the mock server: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.circuit.rejected", rejected, LongAdder::sum)
+                .description("Upstream calls failed immediately because the circuit was open")
+                .register(registry);
+    }
+
+    private synchronized Admission tryAcquire() {
+        State current = state();
+        if (current == State.CLOSED) {
+            return Admission.ALLOWED;
+        }
+        if (current == State.HALF_OPEN && !probeInFlight) {
+            state = State.HALF_OPEN;
+            probeInFlight = true;
+            logger.info("Circuit half-open, sending a probe to the employee service");
+            return Admission.PROBE;
+        }
+        return Admission.REJECTED;
+    }
+
+    private synchronized void onResult(boolean probe, boolean failure) {
+        if (probe) {
+            probeInFlight = false;
+            if (failure) {
+                open();
+            } else {
+                logger.info("Probe succeeded, closing circuit");
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // Late result of a call admitted before the circuit opened.
+            return;
+        }
+        if (!failure) {
+            consecutiveFailures = 0;
+        } else if (++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    private synchronized void onCancel(boolean probe) {
+        if (probe) {
+            probeInFlight = false;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.instant();
+        logger.warn("Opening circuit to the employee service for {}", openDuration);
+    }
+
+    private static boolean isFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        // Only a 429 from the mock server counts; the local limiter refusing a call says nothing about upstream health.
+        return ex instanceof UpstreamRateLimitException
+                || ex instanceof WebClientRequestException
+                || ex instanceof TimeoutException;
+    }
+
+    private enum Admission {
+        ALLOWED,
+        PROBE,
+        REJECTED
+    }
+}
@@ -0,0 +1,217 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Retries idempotent upstream calls that failed for reasons likely to pass: 429, 502/503/504 and connection errors.
+ * <p>
+ * Only GETs are retried on any of those. A DELETE removes the first employee with a given name, so repeating one
+ * the mock server already handled could remove a second employee; DELETEs are only retried when the request
+ * certainly never reached a handler, i.e. on 429 (rejected before handling) or when the connection could not be
+ * opened. Everything else passes through untouched.
+ * <p>
+ * Waits follow decorrelated jitter ({@code min(maxDelay, random(baseDelay, 3 * previous))}) unless the response
+ * carries {@code Retry-After}, which wins. A retry is skipped, and the last response or error returned as is, when
+ * it would land after the call's deadline ({@code maxElapsed} from the first attempt) or when the retry budget is
+ * empty. The budget earns {@code budgetRatio} of a retry per call, up to {@code budgetCap}, so retries can't
+ * multiply load while the mock server is struggling.
+ */
+public class UpstreamRetryFilter implements ExchangeFilterFunction, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRetryFilter.class);
+
+    // The budget is kept in thousandths of a retry so it can be updated atomically.
+    private static final long RETRY_COST = 1000;
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration maxElapsed;
+    private final long budgetEarnedPerCall;
+    private final long budgetCap;
+    private final Clock clock;
+    private final Supplier<RandomGenerator> random;
+
+    private final AtomicLong budget;
+
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+
+    public UpstreamRetryFilter(EmployeeClientProperties.Retry settings, Clock clock) {
+        this(settings, clock, ThreadLocalRandom::current);
+    }
+
+    UpstreamRetryFilter(EmployeeClientProperties.Retry settings, Clock clock, Supplier<RandomGenerator> random) {
+        this.maxAttempts = settings.maxAttempts();
+        this.baseDelay = settings.baseDelay();
+        this.maxDelay = settings.maxDelay();
+        this.maxElapsed = settings.maxElapsed();
+        this.budgetEarnedPerCall = Math.round(settings.budgetRatio() * RETRY_COST);
+        this.budgetCap = settings.budgetCap() * RETRY_COST;
+        this.clock = clock;
+        this.random = random;
+        this.budget = new AtomicLong(budgetCap);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET && request.method() != HttpMethod.DELETE) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            budget.getAndUpdate(available -> Math.min(budgetCap, available + budgetEarnedPerCall));
+            return attempt(request, next, clock.instant().plus(maxElapsed), 1, baseDelay);
+        });
+    }
+
+    public long retriedCount() {
+        return retried.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.upstream.retries", retried, LongAdder::sum)
+                .description("Upstream calls that were sent again")
+                .tag("outcome", "retried")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.retries", budgetExhausted, LongAdder::sum)
+                .description("Retryable failures not retried because the retry budget was empty")
+                .tag("outcome", "budget_exhausted")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.retries", deadlineExceeded, LongAdder::sum)
+                .description("Retryable failures not retried because the wait would pass the call's deadline")
+                .tag("outcome", "deadline_exceeded")
+                .register(registry);
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, Instant deadline,
+                                         int attempt, Duration previousDelay) {
+        // Decide on the response or error first and only then run the retry, so a later attempt's outcome is never
+        // judged a second time by this one.
+        return next.exchange(request)
+                .map(response -> onResponse(request, next, deadline, attempt, previousDelay, response))
+                .onErrorResume(error -> isRetryable(request.method(), error),
+                        error -> Mono.just(onError(request, next, deadline, attempt, previousDelay, error)))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<ClientResponse> onResponse(ClientRequest request, ExchangeFunction next, Instant deadline,
+                                            int attempt, Duration previousDelay, ClientResponse response) {
+        if (!isRetryable(request.method(), response.statusCode())) {
+            return Mono.just(response);
+        }
+        Duration delay = retryAfter(response).orElseGet(() -> nextDelay(previousDelay));
+        if (!mayRetry(request, attempt, delay, deadline)) {
+            return Mono.just(response);
+        }
+        logger.debug("Retrying {} {} in {} after status {}", request.method(), request.url(), delay,
+                response.statusCode().value());
+        return response.releaseBody()
+                .then(Mono.delay(delay))
+                .then(attempt(request, next, deadline, attempt + 1, delay));
+    }
+
+    private Mono<ClientResponse> onError(ClientRequest request, ExchangeFunction next, Instant deadline,
+                                         int attempt, Duration previousDelay, Throwable error) {
+        Duration delay = nextDelay(previousDelay);
+        if (!mayRetry(request, attempt, delay, deadline)) {
+            return Mono.error(error);
+        }
+        logger.debug("Retrying {} {} in {} after {}", request.method(), request.url(), delay, error.getMessage());
+        return Mono.delay(delay).then(attempt(request, next, deadline, attempt + 1, delay));
+    }
+
+    private boolean mayRetry(ClientRequest request, int attempt, Duration delay, Instant deadline) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        if (clock.instant().plus(delay).isAfter(deadline)) {
+            deadlineExceeded.increment();
+            logger.debug("Not retrying {} {}; waiting {} would pass its deadline", request.method(), request.url(),
+                    delay);
+            return false;
+        }
+        if (budget.getAndUpdate(available -> available >= RETRY_COST ? available - RETRY_COST : available)
+                < RETRY_COST) {
+            budgetExhausted.increment();
+            logger.debug("Not retrying {} {}; retry budget is empty", request.method(), request.url());
+            return false;
+        }
+        retried.increment();
+        return true;
+    }
+
+    private Duration nextDelay(Duration previousDelay) {
+        long base = baseDelay.toMillis();
+        long upper = Math.max(base + 1, previousDelay.toMillis() * 3);
+        return Duration.ofMillis(Math.min(maxDelay.toMillis(), random.get().nextLong(base, upper)));
+    }
+
+    private Optional<Duration> retryAfter(ClientResponse response) {
+        String value = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(clock.instant(), at);
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException malformed) {
+                logger.debug("Ignoring malformed Retry-After header '{}'", value);
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static boolean isRetryable(HttpMethod method, HttpStatusCode status) {
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return true;
+        }
+        return method == HttpMethod.GET
+                && (status.value() == HttpStatus.BAD_GATEWAY.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private static boolean isRetryable(HttpMethod method, Throwable error) {
+        if (!(error instanceof WebClientRequestException)) {
+            return false;
+        }
+        return method == HttpMethod.GET || NestedExceptionUtils.getMostSpecificCause(error) instanceof ConnectException;
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection and timeout settings for {@code employeeWebClient}.
+ *
+ * @param connectTimeout  how long to wait for a TCP connection to the mock server
+ * @param responseTimeout how long to wait for a response once the request has been written
+ * @param keepAlive       reuse HTTP/1.1 connections between requests
+ * @param h2c             offer cleartext HTTP/2 and fall back to HTTP/1.1 if the server declines
+ * @param pool            connection pool sizing
+ * @param rateLimit       client-side shaping against the mock server's request limit
+ * @param retry           retries of idempotent calls that failed transiently
+ * @param circuitBreaker  fail-fast behaviour while the mock server keeps failing
+ */
+@ConfigurationProperties(prefix = "employee.client")
+public record EmployeeClientProperties(
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration responseTimeout,
+        @DefaultValue("true") boolean keepAlive,
+        @DefaultValue("false") boolean h2c,
+        @DefaultValue Pool pool,
+        @DefaultValue RateLimit rateLimit,
+        @DefaultValue Retry retry,
+        @DefaultValue CircuitBreaker circuitBreaker
+) {
+
+    /**
+     * @param maxConnections         connections open to the mock server at most
+     * @param pendingAcquireMaxCount requests allowed to queue for a connection before failing fast
+     * @param pendingAcquireTimeout  how long a queued request waits for a connection
+     * @param maxIdleTime            idle connections older than this are closed
+     * @param maxLifeTime            connections older than this are closed once released
+     * @param evictInBackground      how often idle and expired connections are swept
+     */
+    public record Pool(
+            @DefaultValue("100") int maxConnections,
+            @DefaultValue("1000") int pendingAcquireMaxCount,
+            @DefaultValue("5s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("5m") Duration maxLifeTime,
+            @DefaultValue("30s") Duration evictInBackground
+    ) {
+    }
+
+    /**
+     * @param enabled         shape requests through {@link com.reliaquest.api.client.AdaptiveRateLimiter}
+     * @param initialBudget   requests per window assumed before the first 429 has been seen
+     * @param writeReserve    permits at the end of each window that only writes may use
+     * @param reserveHold     how long the reserve waits for a write once reads have used the rest of the window
+     * @param initialCooldown time from one window opening to the next assumed before it has been learned
+     * @param minCooldown     lower bound for the learned cooldown
+     * @param maxCooldown     upper bound for the learned cooldown
+     * @param cooldownStep    how much the cooldown shrinks after each window that opened without a 429
+     * @param maxWait         how long a request may wait for the next window before failing locally
+     */
+    public record RateLimit(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10") int initialBudget,
+            @DefaultValue("1") int writeReserve,
+            @DefaultValue("5s") Duration reserveHold,
+            @DefaultValue("30s") Duration initialCooldown,
+            @DefaultValue("5s") Duration minCooldown,
+            @DefaultValue("120s") Duration maxCooldown,
+            @DefaultValue("5s") Duration cooldownStep,
+            @DefaultValue("1s") Duration maxWait
+    ) {
+    }
+
+    /**
+     * @param enabled     retry through {@link com.reliaquest.api.client.UpstreamRetryFilter}
+     * @param maxAttempts attempts per call, including the first
+     * @param baseDelay   shortest wait between attempts
+     * @param maxDelay    longest wait between attempts, unless {@code Retry-After} asks for more
+     * @param maxElapsed  deadline for a call, measured from its first attempt; retries that would pass it are skipped
+     * @param budgetRatio retries earned per call
+     * @param budgetCap   retries that can be saved up
+     */
+    public record Retry(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("100ms") Duration baseDelay,
+            @DefaultValue("1s") Duration maxDelay,
+            @DefaultValue("3s") Duration maxElapsed,
+            @DefaultValue("0.2") double budgetRatio,
+            @DefaultValue("10") int budgetCap
+    ) {
+    }
+
+    /**
+     * @param failureThreshold consecutive failed calls that open the circuit
+     * @param openDuration     how long the circuit stays open before a single probe is let through
+     */
+    public record CircuitBreaker(
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("30s") Duration openDuration
+    ) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class RosterCacheConfig {
+
+    @Bean
+    public EmployeeRosterCache employeeRosterCache(EmployeeApiClient employeeApiClient,
+                                                   @Value("${employee.cache.ttl:30s}") Duration rosterTtl) {
+        return new EmployeeRosterCache(employeeApiClient::fetchRoster, rosterTtl, Clock.systemUTC());
+    }
+}
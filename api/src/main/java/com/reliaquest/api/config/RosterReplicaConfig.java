@@ -0,0 +1,21 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.replica.RosterReplica;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RosterReplicaProperties.class)
+public class RosterReplicaConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "employee.replica", name = "enabled", havingValue = "true")
+    public RosterReplica rosterReplica(EmployeeApiClient employeeApiClient, RosterReplicaProperties properties) {
+        return new RosterReplica(employeeApiClient, properties, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link com.reliaquest.api.replica.RosterReplica}.
+ *
+ * @param enabled           keep a local replica of the roster and answer reads from it
+ * @param reconnectDelay    wait before the first attempt to reconnect a dropped change stream
+ * @param maxReconnectDelay upper bound for the exponentially growing reconnect wait
+ * @param streamIdleTimeout reconnect when the change stream has been silent this long
+ */
+@ConfigurationProperties(prefix = "employee.replica")
+public record RosterReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1s") Duration reconnectDelay,
+        @DefaultValue("30s") Duration maxReconnectDelay,
+        @DefaultValue("15m") Duration streamIdleTimeout
+) {
+}
@@ -1,19 +1,32 @@
 package com.reliaquest.api.config;
 
-import com.reliaquest.api.exception.RateLimitExceededException;
+import com.reliaquest.api.client.AdaptiveRateLimitFilter;
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.client.UpstreamRetryFilter;
+import com.reliaquest.api.exception.UpstreamRateLimitException;
+import io.netty.channel.ChannelOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Clock;
 
 @Configuration
+@EnableConfigurationProperties(EmployeeClientProperties.class)
 public class WebClientConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(WebClientConfig.class);
@@ -22,14 +35,70 @@ public class WebClientConfig {
     @Value("${employee.service.baseUrl}")
     private String employeeServiceBaseUrl;
 
+    /**
+     * Dedicated pool for the mock server so its sizing doesn't depend on Reactor Netty's global defaults. Pool
+     * gauges (active, idle, pending acquires) are published under {@code reactor.netty.connection.provider}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeConnectionProvider(EmployeeClientProperties properties) {
+        EmployeeClientProperties.Pool pool = properties.pool();
+        logger.info("Initializing employee connection pool: maxConnections={}, pendingAcquireMaxCount={}",
+                pool.maxConnections(), pool.pendingAcquireMaxCount());
+        return ConnectionProvider.builder("employee-api")
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictInBackground())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public AdaptiveRateLimiter employeeRateLimiter(EmployeeClientProperties properties) {
+        return new AdaptiveRateLimiter(properties.rateLimit(), Clock.systemUTC());
+    }
+
     @Bean
-    public WebClient employeeWebClient(WebClient.Builder webClientBuilder) {
+    public UpstreamRetryFilter employeeRetryFilter(EmployeeClientProperties properties) {
+        return new UpstreamRetryFilter(properties.retry(), Clock.systemUTC());
+    }
+
+    @Bean
+    public UpstreamCircuitBreaker employeeCircuitBreaker(EmployeeClientProperties properties) {
+        return new UpstreamCircuitBreaker(properties.circuitBreaker(), Clock.systemUTC());
+    }
+
+    @Bean
+    public WebClient employeeWebClient(WebClient.Builder webClientBuilder,
+                                       ConnectionProvider employeeConnectionProvider,
+                                       AdaptiveRateLimiter employeeRateLimiter,
+                                       UpstreamRetryFilter employeeRetryFilter,
+                                       EmployeeClientProperties properties) {
         logger.info("Initializing employeeWebClient with base URL: {}", employeeServiceBaseUrl);
-        return webClientBuilder
+        HttpClient httpClient = HttpClient.create(employeeConnectionProvider)
+                .protocol(properties.h2c()
+                        ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .keepAlive(properties.keepAlive())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.connectTimeout().toMillis()))
+                .responseTimeout(properties.responseTimeout());
+        webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(employeeServiceBaseUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .filter(rateLimitFilter())
-                .build();
+                .filter(rateLimitFilter());
+        // Filters run in registration order, each wrapping the ones after it. Both of these sit inside
+        // rateLimitFilter so they see raw 429 responses before they become exceptions, and every retry goes back
+        // through the limiter for a permit.
+        if (properties.retry().enabled()) {
+            webClientBuilder.filter(employeeRetryFilter);
+        }
+        if (properties.rateLimit().enabled()) {
+            webClientBuilder.filter(new AdaptiveRateLimitFilter(employeeRateLimiter));
+        }
+        return webClientBuilder.build();
 
     }
 
@@ -43,7 +112,7 @@ public class WebClientConfig {
                         .flatMap(bodyText -> {
                             logger.debug("Body of 429 response: {}", bodyText);
                             return Mono.error(
-                                    new RateLimitExceededException(
+                                    new UpstreamRateLimitException(
                                             "External service rate limit (429) encountered: " + bodyText
                                     )
                             );
@@ -1,13 +1,22 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.BatchResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
 import com.reliaquest.api.service.EmployeeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -15,6 +24,7 @@ import java.util.Optional;
 
 @RestController
 @RequestMapping("/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeRequest> {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
@@ -25,6 +35,7 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     }
 
     @Override
+    @RosterRead
     public ResponseEntity<List<Employee>> getAllEmployees() {
         logger.info("GET employees called");
         List<Employee> employees = employeeService.getAllEmployees();
@@ -32,7 +43,21 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return ResponseEntity.ok(employees);
     }
 
+    /**
+     * Opt-in pagination on the same path, e.g. {@code /employees?limit=100&cursor=...}. Without {@code limit} the
+     * request is handled by the whole-roster contract above.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<EmployeePage> getEmployeesPage(@RequestParam int limit,
+                                                         @RequestParam(required = false) String cursor) {
+        logger.info("GET employees?limit={} called with cursor='{}'", limit, cursor);
+        EmployeePage page = employeeService.getEmployeesPage(limit, cursor);
+        logger.info("GET employees?limit={} returning {} employees", limit, page.employees().size());
+        return ResponseEntity.ok(page);
+    }
+
     @Override
+    @RosterRead
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
         logger.info("GET employees/search/{} called", searchString);
         List<Employee> filteredEmployees = employeeService.getEmployeesByNameSearch(searchString);
@@ -40,7 +65,24 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return ResponseEntity.ok(filteredEmployees);
     }
 
+    /**
+     * Opt-in search modes on the same path, e.g. {@code /employees/search/san?match=prefix}. Without {@code match}
+     * the request is handled by the exact-match contract above.
+     */
+    @RosterRead
+    @GetMapping(value = "/search/{searchString}", params = "match")
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString,
+                                                                  @RequestParam String match) {
+        logger.info("GET employees/search/{}?match={} called", searchString, match);
+        List<Employee> filteredEmployees =
+                employeeService.getEmployeesByNameSearch(searchString, NameMatch.fromParameter(match));
+        logger.info("GET employees/search/{}?match={} returning {} results",
+                searchString, match, filteredEmployees.size());
+        return ResponseEntity.ok(filteredEmployees);
+    }
+
     @Override
+    @RosterRead
     public ResponseEntity getEmployeeById(String id) {
         logger.info("GET employees/{} called", id);
         return employeeService.getEmployeeById(id)
@@ -55,6 +97,7 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     }
 
     @Override
+    @RosterRead
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         logger.info("GET employees/highestSalary called");
         int highestSalary = employeeService.getHighestSalaryOfEmployees();
@@ -63,6 +106,7 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     }
 
     @Override
+    @RosterRead
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         logger.info("GET employees/topTenHighestEarningEmployeeNames called");
         List<String> highestEarningEmployeeNames = employeeService.getTopTenHighestEarningEmployeeNames();
@@ -87,26 +131,42 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
                 });
     }
 
-    // Note:
-    // If there are multiple employees, then
-    // there is no guarantee that the data of provided ID will get deleted
-    // Mock application doesn't provide the delete by ID API,
-    // So we are searching the customer and deleting by name
-    // And the delete API provide by Mock Application deletes the 1st found employee by name
+    /**
+     * Creates many employees with a single upstream request. Results are in request order; an item the mock server
+     * rejects gets an {@code error} instead of failing the batch.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResult<Employee>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        logger.info("POST employees/batch called with {} employees", employeeInputs.size());
+        List<BatchResult<Employee>> results = employeeService.createEmployees(employeeInputs);
+        logger.info("POST employees/batch created {} of {} employees",
+                results.stream().filter(result -> result.error() == null).count(), employeeInputs.size());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Deletes many employees by id with a single upstream request. Each result carries the deleted employee's name,
+     * or an {@code error} for ids that were not found.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchResult<String>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        logger.info("DELETE employees/batch called with {} ids", ids.size());
+        List<BatchResult<String>> results = employeeService.deleteEmployeesById(ids);
+        logger.info("DELETE employees/batch deleted {} of {} employees",
+                results.stream().filter(result -> result.error() == null).count(), ids.size());
+        return ResponseEntity.ok(results);
+    }
+
+    // One upstream call that deletes exactly this id, so a namesake can never be deleted instead.
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         logger.info("DELETE employees/{} called", id);
-        Optional<Employee> employee = employeeService.getEmployeeById(id);
-        if (employee.isPresent()) {
-            boolean deleted = employeeService.deleteEmployeeByName(employee.get().name());
-            if (deleted) {
-                logger.info("Employee with id='{}' deleted successfully", id);
-                return ResponseEntity.ok("Employee deleted successfully");
-            } else {
-                logger.info("Employee with id='{}' not found or could not be deleted", id);
-                return ResponseEntity.status(404).body("Employee not found or could not be deleted");
-            }
-        } else{
+        Optional<Employee> deleted = employeeService.deleteEmployeeById(id);
+        if (deleted.isPresent()) {
+            logger.info("Employee with id='{}' deleted successfully", id);
+            return ResponseEntity.ok("Employee deleted successfully");
+        } else {
             logger.info("Employee not found with id='{}'", id);
             return ResponseEntity.status(404).body("Employee not found");
         }
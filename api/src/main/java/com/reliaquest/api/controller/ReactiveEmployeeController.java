@@ -0,0 +1,167 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.BatchResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same routes and responses as {@link EmployeeController}, served on Netty when the application runs as a reactive
+ * web application. Nothing here blocks, so request threads are never parked on upstream calls.
+ * <p>
+ * This can't implement {@link IEmployeeController} because that contract returns plain {@link ResponseEntity}s.
+ */
+@RestController
+@RequestMapping("/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        logger.info("GET employees called");
+        return employeeService.getAllEmployees()
+                .map(employees -> {
+                    logger.info("GET employees returning {} employees", employees.size());
+                    return ResponseEntity.ok(employees);
+                });
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<EmployeePage>> getEmployeesPage(
+            @RequestParam(name = "limit") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        logger.info("GET employees?limit={} called with cursor='{}'", limit, cursor);
+        return employeeService.getEmployeesPage(limit, cursor)
+                .map(page -> {
+                    logger.info("GET employees?limit={} returning {} employees", limit, page.employees().size());
+                    return ResponseEntity.ok(page);
+                });
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(name = "match", required = false) String match) {
+        logger.info("GET employees/search/{} called with match={}", searchString, match);
+        NameMatch nameMatch = match == null ? NameMatch.EXACT : NameMatch.fromParameter(match);
+        return employeeService.getEmployeesByNameSearch(searchString, nameMatch)
+                .map(filteredEmployees -> {
+                    logger.info("GET employees/search/{} returning {} results", searchString,
+                            filteredEmployees.size());
+                    return ResponseEntity.ok(filteredEmployees);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        logger.info("GET employees/{} called", id);
+        return employeeService.getEmployeeById(id)
+                .map(employee -> {
+                    logger.info("Employee found with id='{}'", id);
+                    return ResponseEntity.ok(employee);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.info("Employee not found with id='{}'", id);
+                    return ResponseEntity.notFound().build();
+                }));
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        logger.info("GET employees/highestSalary called");
+        return employeeService.getHighestSalaryOfEmployees()
+                .map(highestSalary -> {
+                    logger.info("GET employees/highestSalary returning {}", highestSalary);
+                    return ResponseEntity.ok(highestSalary);
+                });
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        logger.info("GET employees/topTenHighestEarningEmployeeNames called");
+        return employeeService.getTopTenHighestEarningEmployeeNames()
+                .map(names -> {
+                    logger.info("GET employees/topTenHighestEarningEmployeeNames returning {} names",
+                            names.size());
+                    return ResponseEntity.ok(names);
+                });
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateEmployeeRequest employeeInput) {
+        logger.info("POST employees called with payload: name='{}', salary={}, age={}, title='{}'",
+                employeeInput.name(), employeeInput.salary(), employeeInput.age(), employeeInput.title());
+        return employeeService.createEmployee(employeeInput)
+                .map(created -> {
+                    logger.info("Employee created successfully with id='{}'", created.id());
+                    return ResponseEntity.ok(created);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("createEmployee() returned empty result; sending 400 Bad Request");
+                    return ResponseEntity.badRequest().build();
+                }));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchResult<Employee>>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        logger.info("POST employees/batch called with {} employees", employeeInputs.size());
+        return employeeService.createEmployees(employeeInputs)
+                .map(results -> {
+                    logger.info("POST employees/batch created {} of {} employees",
+                            results.stream().filter(result -> result.error() == null).count(),
+                            employeeInputs.size());
+                    return ResponseEntity.ok(results);
+                });
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<ResponseEntity<List<BatchResult<String>>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        logger.info("DELETE employees/batch called with {} ids", ids.size());
+        return employeeService.deleteEmployeesById(ids)
+                .map(results -> {
+                    logger.info("DELETE employees/batch deleted {} of {} employees",
+                            results.stream().filter(result -> result.error() == null).count(), ids.size());
+                    return ResponseEntity.ok(results);
+                });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        logger.info("DELETE employees/{} called", id);
+        return employeeService.deleteEmployeeById(id)
+                .map(deleted -> {
+                    logger.info("Employee with id='{}' deleted successfully", id);
+                    return ResponseEntity.ok("Employee deleted successfully");
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.info("Employee not found with id='{}'", id);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
+                }));
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link EmployeeController} handler answered from the roster, so {@link StaleDataResponseAdvice} flags its
+ * response when the roster was the last known one. Handlers without it never fall back to the roster.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RosterRead {}
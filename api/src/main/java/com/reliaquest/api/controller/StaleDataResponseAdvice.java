@@ -0,0 +1,43 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.EmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses of {@link RosterRead} handlers of {@link EmployeeController} with {@value #STALE_HEADER} when they
+ * were answered from the last known roster because the mock server is unavailable.
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StaleDataResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Employee-Data-Stale";
+
+    private final EmployeeService employeeService;
+
+    public StaleDataResponseAdvice(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(RosterRead.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (employeeService.lastReadWasStale()) {
+            response.getHeaders().set(STALE_HEADER, "true");
+        }
+        return body;
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.StaleRead;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link StaleDataResponseAdvice} for {@link ReactiveEmployeeController}: gives each read a
+ * {@link StaleRead} and flags the response if the service raised it.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class StaleDataWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET
+                || !exchange.getRequest().getPath().pathWithinApplication().value().startsWith("/employees")) {
+            return chain.filter(exchange);
+        }
+        StaleRead staleRead = new StaleRead();
+        exchange.getResponse().beforeCommit(() -> {
+            if (exchange.getResponse().getStatusCode() != null
+                    && exchange.getResponse().getStatusCode().is2xxSuccessful()
+                    && staleRead.isRaised()) {
+                exchange.getResponse().getHeaders().set(StaleDataResponseAdvice.STALE_HEADER, "true");
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange).contextWrite(staleRead::addTo);
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ExternalBatchResultDto<T>(
+        T data,
+        String error
+) {
+}
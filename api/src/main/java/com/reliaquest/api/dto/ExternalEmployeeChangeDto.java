@@ -0,0 +1,11 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ExternalEmployeeChangeDto(
+        long sequence,
+        String type,
+        ExternalEmployeeDto employee
+) {
+}
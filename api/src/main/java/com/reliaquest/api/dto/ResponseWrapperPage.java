@@ -0,0 +1,12 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ResponseWrapperPage<T>(
+        List<T> data,
+        String status,
+        String nextCursor) {
+}
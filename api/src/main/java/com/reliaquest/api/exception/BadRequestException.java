@@ -0,0 +1,15 @@
+package com.reliaquest.api.exception;
+
+/**
+ * The client sent a request the api can't serve as given, such as an unknown search mode or an expired cursor.
+ * Answered with 400; other exceptions are treated as the api's own faults.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(final String message) {
+        super(message);
+    }
+
+    public BadRequestException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.exception;
+
+/**
+ * The mock server's change feed can't be continued from where a consumer left off, because changes were dropped,
+ * the server restarted or a sequence number was skipped. The consumer has to reload the roster.
+ */
+public class ChangeFeedResetException extends RuntimeException {
+    public ChangeFeedResetException(final String message) {
+        super(message);
+    }
+
+    public ChangeFeedResetException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+public class CircuitOpenException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public CircuitOpenException(final String message, final Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -2,10 +2,13 @@ package com.reliaquest.api.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -17,6 +20,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ex.getMessage());
     }
 
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<String> handleCircuitOpenException(final CircuitOpenException ex) {
+        logger.warn("Handling CircuitOpenException: {}", ex.getMessage());
+        // Round up so clients never retry before the probe is allowed.
+        long retryAfterSeconds = (ex.getRetryAfter().toMillis() + 999) / 1000;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequestException(final BadRequestException ex) {
+        logger.warn("Rejecting request with invalid argument: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleArgumentTypeMismatch(final MethodArgumentTypeMismatchException ex) {
+        logger.warn("Rejecting request with unconvertible '{}': {}", ex.getName(), ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Invalid value '%s' for '%s'".formatted(ex.getValue(), ex.getName()));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadableBody(final HttpMessageNotReadableException ex) {
+        logger.warn("Rejecting request with unreadable body: {}", ex.getMessage());
+        // The parser's message describes our DTOs, so the client only learns that the body was the problem.
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Malformed request body");
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleAllRuntimeExceptions(RuntimeException ex) {
         logger.error("Unhandled exception in controller: ", ex);
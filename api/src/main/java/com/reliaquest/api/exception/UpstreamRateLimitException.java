@@ -0,0 +1,10 @@
+package com.reliaquest.api.exception;
+
+/**
+ * The mock server itself answered 429, as opposed to the api refusing the call locally before sending it.
+ */
+public class UpstreamRateLimitException extends RateLimitExceededException {
+    public UpstreamRateLimitException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.model;
+
+/**
+ * What the mock server returned for a write, with the roster version once the write was in: a change feed consumer
+ * at that version or later has already received it. {@code version} is -1 when the mock server didn't say.
+ */
+public record AcknowledgedWrite<T>(
+        T result,
+        long version
+) {
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request, at the same position as the item in the request. Exactly one of
+ * {@code data} and {@code error} is set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult<T>(
+        T data,
+        String error
+) {
+
+    public static <T> BatchResult<T> of(T data) {
+        return new BatchResult<>(data, null);
+    }
+
+    public static <T> BatchResult<T> error(String error) {
+        return new BatchResult<>(null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * An open subscription to the mock server's change feed. {@code head} was the roster version when the subscription
+ * was accepted: once the change with that sequence has been received, every change that was already in the log has
+ * been too.
+ */
+public record ChangeStream(
+        long head,
+        Flux<RosterChange> changes
+) {
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * One page of the roster in the mock server's insertion order. Pass {@code nextCursor} back to get the following
+ * page; it is {@code null} on the last one.
+ */
+public record EmployeePage(
+        List<Employee> employees,
+        String nextCursor
+) {
+}
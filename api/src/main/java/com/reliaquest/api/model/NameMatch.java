@@ -0,0 +1,22 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.exception.BadRequestException;
+
+/**
+ * How a name search string is compared against employee names. All modes ignore case.
+ */
+public enum NameMatch {
+    EXACT,
+    PREFIX,
+    CONTAINS;
+
+    public static NameMatch fromParameter(String value) {
+        for (NameMatch match : values()) {
+            if (match.name().equalsIgnoreCase(value)) {
+                return match;
+            }
+        }
+        throw new BadRequestException(
+                "Unsupported name match '" + value + "', expected one of exact, prefix, contains");
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+/**
+ * One create or delete from the mock server's change feed. {@code sequence} is the roster version it produced.
+ */
+public record RosterChange(
+        long sequence,
+        Type type,
+        Employee employee
+) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * The upstream roster together with its position in the mock server's change feed: applying every change after
+ * {@code version} brings it up to date. {@code epoch} identifies the mock server run the version belongs to.
+ */
+public record VersionedRoster(
+        long epoch,
+        long version,
+        List<Employee> employees
+) {
+}
@@ -0,0 +1,346 @@
+package com.reliaquest.api.replica;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.RosterReplicaProperties;
+import com.reliaquest.api.exception.ChangeFeedResetException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterChange;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local copy of the upstream roster, kept current from the mock server's change feed so that reads need no upstream
+ * calls at all.
+ * <p>
+ * The replica loads the whole roster once and then follows the change stream from the roster's version, applying
+ * each create and delete as it arrives. When a sequence number is skipped or the feed can't be continued, the replica
+ * is thrown away and the roster loaded again. A dropped stream is reopened from the last applied version, backing off
+ * exponentially while that keeps failing or the stream keeps closing without delivering anything. Reads are only
+ * answered once the changes that were already in the log when the stream opened have been applied, and only while the
+ * stream stays open; the rest of the time {@link #snapshot()} is empty and callers go upstream.
+ * <p>
+ * Writes this api makes upstream are applied as soon as they return, so a client reads its own write even before
+ * the feed delivers it; the feed's copy of such a change then only advances the version. A create is not applied
+ * when the feed has already gone past the version it was acknowledged at, or has already deleted the employee, since
+ * the feed then has the final word on it.
+ */
+public class RosterReplica implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterReplica.class);
+
+    // Ids the feed deleted, remembered for creates whose response is still on its way.
+    private static final int FEED_DELETES_REMEMBERED = 10_000;
+
+    private final EmployeeApiClient employeeApiClient;
+    private final RosterReplicaProperties properties;
+    private final Clock clock;
+
+    private final LongAdder resyncs = new LongAdder();
+
+    // Written under this, from the follow loop and from local writes.
+    private volatile Replica current;
+    private volatile boolean following;
+    private volatile Instant behindSince;
+    // Latest roster version the mock server is known to have: the stream's head, or the newest change received.
+    private volatile long head = -1;
+
+    // Only written from the follow loop, which never runs concurrently with itself.
+    private long catchUpTo;
+
+    // Local writes already applied to current that the feed has not delivered yet, in the order they were made, by
+    // employee id. Guarded by this.
+    private final Map<String, Deque<RosterChange.Type>> pending = new HashMap<>();
+
+    // The most recent ids the feed deleted. Guarded by this.
+    private final Map<String, Boolean> deletedByFeed = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > FEED_DELETES_REMEMBERED;
+        }
+    };
+
+    private Disposable subscription;
+
+    public RosterReplica(EmployeeApiClient employeeApiClient, RosterReplicaProperties properties, Clock clock) {
+        this.employeeApiClient = employeeApiClient;
+        this.properties = properties;
+        this.clock = clock;
+        this.behindSince = clock.instant();
+    }
+
+    public synchronized void start() {
+        if (subscription == null) {
+            subscription = follow().subscribe();
+        }
+    }
+
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+        following = false;
+    }
+
+    /**
+     * The replicated roster, or empty while the replica isn't following the change feed.
+     */
+    public Optional<RosterSnapshot> snapshot() {
+        Replica replica = current;
+        return following && replica != null ? Optional.of(replica.snapshot()) : Optional.empty();
+    }
+
+    public boolean isHealthy() {
+        return following && current != null;
+    }
+
+    /**
+     * Last roster version applied, or -1 before the roster has been loaded.
+     */
+    public long version() {
+        Replica replica = current;
+        return replica == null ? -1 : replica.version();
+    }
+
+    /**
+     * How many changes the replica is behind the latest roster version it knows the mock server to have.
+     */
+    public long lag() {
+        long version = version();
+        return version < 0 ? 0 : Math.max(0, head - version);
+    }
+
+    /**
+     * How long the replica has not been following the change feed; zero while it is.
+     */
+    public Duration behindFor() {
+        Instant since = behindSince;
+        return since == null ? Duration.ZERO : Duration.between(since, clock.instant());
+    }
+
+    public long resyncCount() {
+        return resyncs.sum();
+    }
+
+    /**
+     * Applies employees this api has just created upstream, ahead of the change feed. {@code acknowledgedAt} is the
+     * roster version the mock server acknowledged them at, or -1 if it didn't say.
+     */
+    public synchronized void created(Collection<Employee> employees, long acknowledgedAt) {
+        Replica replica = current;
+        if (replica == null) {
+            return;
+        }
+        if (acknowledgedAt >= 0 && replica.version() >= acknowledgedAt) {
+            // The feed has delivered these creates already, along with anything that happened to them since.
+            return;
+        }
+        RosterSnapshot snapshot = replica.snapshot();
+        for (Employee employee : employees) {
+            // Already there when the feed was quicker than the response, or already deleted again by someone else.
+            if (snapshot.findById(employee.id()).isEmpty() && !deletedByFeed.containsKey(employee.id())) {
+                snapshot = snapshot.withAdded(employee);
+                pending.computeIfAbsent(employee.id(), id -> new ArrayDeque<>()).add(RosterChange.Type.CREATED);
+            }
+        }
+        current = new Replica(replica.epoch(), replica.version(), snapshot);
+    }
+
+    /**
+     * Applies deletes this api has just made upstream, ahead of the change feed.
+     */
+    public synchronized void deleted(Collection<String> ids) {
+        Replica replica = current;
+        if (replica == null) {
+            return;
+        }
+        RosterSnapshot snapshot = replica.snapshot();
+        for (String id : ids) {
+            // Already gone when the feed was quicker than the response.
+            if (snapshot.findById(id).isPresent()) {
+                snapshot = snapshot.withoutId(id);
+                pending.computeIfAbsent(id, ignored -> new ArrayDeque<>()).add(RosterChange.Type.DELETED);
+            }
+        }
+        current = new Replica(replica.epoch(), replica.version(), snapshot);
+    }
+
+    /**
+     * Applies a delete by name this api has just made upstream, ahead of the change feed. Like the mock server, it
+     * removes the first employee with that name, ignoring case.
+     */
+    public synchronized void deletedFirstNamed(String name) {
+        Replica replica = current;
+        if (replica == null) {
+            return;
+        }
+        replica.snapshot().employees().stream()
+                .filter(employee -> name.equalsIgnoreCase(employee.name()))
+                .findFirst()
+                .ifPresent(employee -> deleted(List.of(employee.id())));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.replica.healthy", this, replica -> replica.isHealthy() ? 1 : 0)
+                .description("Whether reads are answered from the local roster replica")
+                .register(registry);
+        Gauge.builder("employee.replica.version", this, RosterReplica::version)
+                .description("Last roster version applied to the replica")
+                .register(registry);
+        Gauge.builder("employee.replica.lag", this, RosterReplica::lag)
+                .description("Changes the replica is behind the latest roster version known upstream")
+                .baseUnit("changes")
+                .register(registry);
+        Gauge.builder("employee.replica.behind", this, replica -> replica.behindFor().toMillis() / 1000.0)
+                .description("Time since the replica stopped following the change feed")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("employee.replica.resyncs", resyncs, LongAdder::sum)
+                .description("Full roster reloads after the change feed could not be continued")
+                .register(registry);
+    }
+
+    private Flux<RosterChange> follow() {
+        return Mono.defer(() -> current != null ? Mono.just(current) : load())
+                .flatMap(replica -> employeeApiClient.openChangeStream(replica.epoch(), replica.version(),
+                        properties.streamIdleTimeout()))
+                .flatMapMany(stream -> {
+                    catchUpTo = stream.head();
+                    // Not the max: a stream of a new epoch starts again from a lower version.
+                    head = stream.head();
+                    if (version() >= catchUpTo) {
+                        caughtUp();
+                    }
+                    return stream.changes();
+                })
+                .doOnNext(change -> {
+                    head = Math.max(head, change.sequence());
+                    apply(change);
+                    if (!following && version() >= catchUpTo) {
+                        caughtUp();
+                    }
+                })
+                .doOnError(this::fellBehind)
+                .doOnComplete(() -> fellBehind(null))
+                // A stream that closes straight away backs off like one that fails; one that delivered changes
+                // starts over from the first delay.
+                .repeatWhen(completions -> completions
+                        .scan(-1L, (quiet, delivered) -> delivered > 0 ? 0 : quiet + 1)
+                        .skip(1)
+                        .concatMap(quiet -> Mono.delay(reconnectDelay(quiet))))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.reconnectDelay())
+                        .maxBackoff(properties.maxReconnectDelay())
+                        .transientErrors(true));
+    }
+
+    private Duration reconnectDelay(long attempt) {
+        Duration delay = properties.reconnectDelay().multipliedBy(1L << Math.min(attempt, 20));
+        return delay.compareTo(properties.maxReconnectDelay()) > 0 ? properties.maxReconnectDelay() : delay;
+    }
+
+    private Mono<Replica> load() {
+        return employeeApiClient.fetchVersionedRoster()
+                .map(roster -> {
+                    Replica replica = new Replica(roster.epoch(), roster.version(),
+                            RosterSnapshot.of(roster.employees(), clock.instant()));
+                    replace(replica);
+                    logger.info("Roster replica loaded {} employees at version {}", roster.employees().size(),
+                            roster.version());
+                    return replica;
+                });
+    }
+
+    private synchronized void apply(RosterChange change) {
+        Replica replica = current;
+        if (change.sequence() <= replica.version()) {
+            return;
+        }
+        if (change.sequence() != replica.version() + 1) {
+            throw new ChangeFeedResetException(
+                    "Expected change " + (replica.version() + 1) + " but received " + change.sequence());
+        }
+        if (change.type() == RosterChange.Type.DELETED) {
+            deletedByFeed.put(change.employee().id(), true);
+        }
+        RosterSnapshot snapshot;
+        if (consumePending(change)) {
+            snapshot = replica.snapshot();
+        } else {
+            snapshot = switch (change.type()) {
+                case CREATED -> replica.snapshot().withAdded(change.employee());
+                case DELETED -> replica.snapshot().withoutId(change.employee().id());
+            };
+        }
+        current = new Replica(replica.epoch(), change.sequence(), snapshot);
+        logger.debug("Applied {} of id='{}' at version {}", change.type(), change.employee().id(),
+                change.sequence());
+    }
+
+    // Whether the change is the next local write of that employee still waiting for the feed.
+    private boolean consumePending(RosterChange change) {
+        Deque<RosterChange.Type> writes = pending.get(change.employee().id());
+        if (writes == null || writes.peekFirst() != change.type()) {
+            return false;
+        }
+        writes.removeFirst();
+        if (writes.isEmpty()) {
+            pending.remove(change.employee().id());
+        }
+        return true;
+    }
+
+    // Local writes a fresh roster is missing come through the feed, which starts from the roster's version.
+    private synchronized void replace(Replica replica) {
+        current = replica;
+        pending.clear();
+        deletedByFeed.clear();
+    }
+
+    private void caughtUp() {
+        following = true;
+        behindSince = null;
+        logger.info("Roster replica following the change feed from version {}", version());
+    }
+
+    private void fellBehind(Throwable ex) {
+        if (following) {
+            following = false;
+            behindSince = clock.instant();
+        }
+        if (ex instanceof ChangeFeedResetException) {
+            resyncs.increment();
+            replace(null);
+            logger.warn("Reloading roster replica: {}", ex.getMessage());
+        } else if (ex != null) {
+            logger.warn("Change stream failed at version {}, reconnecting: {}", version(), ex.toString());
+        } else {
+            logger.debug("Change stream closed at version {}, reconnecting", version());
+        }
+    }
+
+    private record Replica(long epoch, long version, RosterSnapshot snapshot) {
+    }
+}
@@ -1,7 +1,10 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.BatchResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,15 +12,31 @@ import java.util.Optional;
 public interface EmployeeService {
     List<Employee> getAllEmployees();
 
+    EmployeePage getEmployeesPage(int limit, String cursor);
+
     List<Employee> getEmployeesByNameSearch(String searchString);
 
+    List<Employee> getEmployeesByNameSearch(String searchString, NameMatch match);
+
     Optional<Employee> getEmployeeById(String id);
 
     int getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    /**
+     * Whether the last roster read made while handling the current request was answered from the last known roster
+     * because the mock server was unavailable. Always {@code false} outside a request.
+     */
+    boolean lastReadWasStale();
+
     Optional<Employee> createEmployee(CreateEmployeeRequest request);
 
     boolean deleteEmployeeByName(String name);
+
+    Optional<Employee> deleteEmployeeById(String id);
+
+    List<BatchResult<Employee>> createEmployees(List<CreateEmployeeRequest> requests);
+
+    List<BatchResult<String>> deleteEmployeesById(List<String> ids);
 }
@@ -1,55 +1,47 @@
 package com.reliaquest.api.service;
 
-import com.reliaquest.api.dto.*;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.exception.RateLimitExceededException;
+import com.reliaquest.api.model.BatchResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import reactor.core.publisher.Mono;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+/**
+ * Blocking {@link EmployeeService} for the servlet deployment: each call waits on the caller's thread for the
+ * {@link ReactiveEmployeeService} pipeline that does the actual work.
+ */
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeServiceImpl implements EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
-    private final WebClient employeeWebClient;
+    // Request attribute set by every roster read made while handling a request, so it goes away with the request.
+    private static final String STALE_ATTRIBUTE = EmployeeServiceImpl.class.getName() + ".lastReadStale";
 
-    public EmployeeServiceImpl(WebClient employeeWebClient) {
-        this.employeeWebClient = employeeWebClient;
+    private final ReactiveEmployeeService reactiveEmployeeService;
+
+    public EmployeeServiceImpl(ReactiveEmployeeService reactiveEmployeeService) {
+        this.reactiveEmployeeService = reactiveEmployeeService;
     }
 
     @Override
     public List<Employee> getAllEmployees() {
         logger.info("Entering getAllEmployees()");
         try {
-
-            Mono<ResponseWrapperList<ExternalEmployeeDto>> employeeMono = this.employeeWebClient
-                    .get()
-                    .uri("")
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<>() {
-                    });
-
-            List<ExternalEmployeeDto> externalEmployeeList = employeeMono
-                    .blockOptional()
-                    .map(ResponseWrapperList::data)
-                    .orElse(List.of());
-            logger.info("Fetched {} employees from external service", externalEmployeeList.size());
-
-            return externalEmployeeList.stream()
-                    .map(this::mapToInternal)
-                    .collect(Collectors.toList());
+            return read(reactiveEmployeeService.getAllEmployees());
         } catch (RateLimitExceededException ex) {
             logger.error("Rate limit exceeded on getAllEmployees()", ex);
             throw ex;
@@ -61,14 +53,32 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    public List<Employee> getEmployeesByNameSearch(String searchString) {
-        logger.info("Entering getEmployeesByNameSearch() with searchString='{}'", searchString);
+    public EmployeePage getEmployeesPage(int limit, String cursor) {
+        logger.info("Entering getEmployeesPage() with limit={}, cursor='{}'", limit, cursor);
         try {
-            String lowerCaseSearchString = searchString.toLowerCase();
+            return reactiveEmployeeService.getEmployeesPage(limit, cursor).block();
+        } catch (RateLimitExceededException ex) {
+            logger.error("Rate limit exceeded in getEmployeesPage()", ex);
+            throw ex;
+        } catch (BadRequestException ex) {
+            logger.warn("Rejected page request: {}", ex.getMessage());
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error in getEmployeesPage()", ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String searchString) {
+        return getEmployeesByNameSearch(searchString, NameMatch.EXACT);
+    }
 
-            return getAllEmployees().stream()
-                    .filter(employee -> employee.name().toLowerCase().equals(lowerCaseSearchString))
-                    .collect(Collectors.toList());
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String searchString, NameMatch match) {
+        logger.info("Entering getEmployeesByNameSearch() with searchString='{}', match={}", searchString, match);
+        try {
+            return read(reactiveEmployeeService.getEmployeesByNameSearch(searchString, match));
         } catch (RateLimitExceededException ex) {
             logger.error("Rate limit exceeded in getEmployeesByNameSearch()", ex);
             throw ex;
@@ -82,18 +92,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     public Optional<Employee> getEmployeeById(String id) {
         logger.info("Entering getEmployeeById() with id='{}'", id);
         try {
-            Mono<ResponseWrapperSingle<ExternalEmployeeDto>> responseMono = employeeWebClient
-                    .get()
-                    .uri("/{id}", id)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<>() {
-                    });
-
-            Optional<Employee> result = responseMono
-                    .blockOptional()
-                    .map(ResponseWrapperSingle::data)
-                    .map(this::mapToInternal);
+            Optional<Employee> result = Optional.ofNullable(read(reactiveEmployeeService.getEmployeeById(id)));
             logger.info("Fetched {} employee from external service", result);
             if (result.isPresent()) {
                 logger.info("Employee found for id='{}'", id);
@@ -114,11 +113,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     public int getHighestSalaryOfEmployees() {
         logger.info("Entering getHighestSalaryOfEmployees()");
         try {
-
-            return getAllEmployees().stream()
-                    .map(Employee::salary)
-                    .max(Comparator.naturalOrder())
-                    .orElse(0);
+            return Optional.ofNullable(read(reactiveEmployeeService.getHighestSalaryOfEmployees())).orElse(0);
         } catch (RateLimitExceededException ex) {
             logger.error("Rate limit exceeded in getHighestSalaryOfEmployees()", ex);
             throw ex;
@@ -132,12 +127,8 @@ public class EmployeeServiceImpl implements EmployeeService {
     public List<String> getTopTenHighestEarningEmployeeNames() {
         logger.info("Entering getTopTenHighestEarningEmployeeNames()");
         try {
-
-            return getAllEmployees().stream()
-                    .sorted(Comparator.comparingInt(Employee::salary).reversed())
-                    .limit(10)
-                    .map(Employee::name)
-                    .collect(Collectors.toList());
+            return Optional.ofNullable(read(reactiveEmployeeService.getTopTenHighestEarningEmployeeNames()))
+                    .orElse(List.of());
         } catch (RateLimitExceededException ex) {
             logger.error("Rate limit exceeded in getTopTenHighestEarningEmployeeNames()", ex);
             throw ex;
@@ -147,25 +138,19 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    @Override
+    public boolean lastReadWasStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(STALE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
     @Override
     public Optional<Employee> createEmployee(CreateEmployeeRequest request) {
         logger.info("Entering createEmployee() with request: name='{}', salary={}, age={}, title='{}'",
                 request.name(), request.salary(), request.age(), request.title());
         try {
-
-            Mono<ResponseWrapperSingle<ExternalEmployeeDto>> responseMono = employeeWebClient
-                    .post()
-                    .uri("")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(Mono.just(request), CreateEmployeeRequest.class)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<>() {
-                    });
-
-            Optional<Employee> newEmployeeEntry = responseMono
-                    .blockOptional()
-                    .map(ResponseWrapperSingle::data)
-                    .map(this::mapToInternal);
+            Optional<Employee> newEmployeeEntry = reactiveEmployeeService.createEmployee(request).blockOptional();
 
             if (newEmployeeEntry.isEmpty()) {
                 logger.warn("createEmployee() returned no data");
@@ -184,19 +169,8 @@ public class EmployeeServiceImpl implements EmployeeService {
     public boolean deleteEmployeeByName(String name) {
         logger.info("Entering deleteEmployeeByName() with name='{}'", name);
         try {
-            DeleteEmployeeRequest deleteEmployeeRequest = new DeleteEmployeeRequest(name);
-            Mono<ResponseWrapperSingle<Boolean>> responseMono = employeeWebClient
-                    .method(HttpMethod.DELETE)
-                    .uri("")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(Mono.just(deleteEmployeeRequest), DeleteEmployeeRequest.class)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<>() {
-                    });
-
-            boolean deleted = responseMono
+            boolean deleted = reactiveEmployeeService.deleteEmployeeByName(name)
                     .blockOptional()
-                    .map(ResponseWrapperSingle::data)
                     .orElse(false);
             if (deleted) {
                 logger.info("Successfully deleted employee with name='{}'", name);
@@ -213,15 +187,73 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
-    private Employee mapToInternal(ExternalEmployeeDto dto) {
-        logger.debug("Mapping ExternalEmployeeDto(id='{}') → Employee", dto.id());
-        return new Employee(
-                dto.id(),
-                dto.employeeName(),
-                dto.employeeSalary(),
-                dto.employeeAge(),
-                dto.employeeTitle(),
-                dto.employeeEmail()
-        );
+    @Override
+    public Optional<Employee> deleteEmployeeById(String id) {
+        logger.info("Entering deleteEmployeeById() with id='{}'", id);
+        try {
+            Optional<Employee> deleted = reactiveEmployeeService.deleteEmployeeById(id).blockOptional();
+            if (deleted.isPresent()) {
+                logger.info("Successfully deleted employee with id='{}'", id);
+            } else {
+                logger.info("Employee with id='{}' not found", id);
+            }
+            return deleted;
+        } catch (RateLimitExceededException ex) {
+            logger.error("Rate limit exceeded in deleteEmployeeById('{}')", id, ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error in deleteEmployeeById('{}')", id, ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<BatchResult<Employee>> createEmployees(List<CreateEmployeeRequest> requests) {
+        logger.info("Entering createEmployees() with {} requests", requests.size());
+        try {
+            return reactiveEmployeeService.createEmployees(requests).blockOptional().orElse(List.of());
+        } catch (RateLimitExceededException ex) {
+            logger.error("Rate limit exceeded in createEmployees()", ex);
+            throw ex;
+        } catch (BadRequestException ex) {
+            logger.warn("Rejected batch create: {}", ex.getMessage());
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error in createEmployees()", ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<BatchResult<String>> deleteEmployeesById(List<String> ids) {
+        logger.info("Entering deleteEmployeesById() with {} ids", ids.size());
+        try {
+            return reactiveEmployeeService.deleteEmployeesById(ids).blockOptional().orElse(List.of());
+        } catch (RateLimitExceededException ex) {
+            logger.error("Rate limit exceeded in deleteEmployeesById()", ex);
+            throw ex;
+        } catch (BadRequestException ex) {
+            logger.warn("Rejected batch delete: {}", ex.getMessage());
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error in deleteEmployeesById()", ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Blocks on a roster read and records on the current request, if any, whether it was answered from the last known
+     * roster. A read that fails records nothing, so the request is not flagged.
+     */
+    private <T> T read(Mono<T> read) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return read.block();
+        }
+        StaleRead staleRead = new StaleRead();
+        attributes.removeAttribute(STALE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        T result = read.contextWrite(staleRead::addTo).block();
+        attributes.setAttribute(STALE_ATTRIBUTE, staleRead.isRaised(), RequestAttributes.SCOPE_REQUEST);
+        return result;
     }
 }
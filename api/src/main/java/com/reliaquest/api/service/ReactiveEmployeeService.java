@@ -0,0 +1,53 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.BatchResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}. Empty {@link Mono}s mean "not found" or "not created" where
+ * the blocking service returns an empty {@link java.util.Optional}. Roster reads raise the {@link StaleRead} in their
+ * context when they are answered from the last known roster because the mock server is unavailable.
+ */
+public interface ReactiveEmployeeService {
+    Mono<List<Employee>> getAllEmployees();
+
+    /**
+     * Up to {@code limit} employees after {@code cursor}, or from the start when it is {@code null}, read straight
+     * from the mock server rather than the roster snapshot.
+     */
+    Mono<EmployeePage> getEmployeesPage(int limit, String cursor);
+
+    Mono<List<Employee>> getEmployeesByNameSearch(String searchString, NameMatch match);
+
+    Mono<Employee> getEmployeeById(String id);
+
+    Mono<Integer> getHighestSalaryOfEmployees();
+
+    Mono<List<String>> getTopTenHighestEarningEmployeeNames();
+
+    Mono<Employee> createEmployee(CreateEmployeeRequest request);
+
+    Mono<Boolean> deleteEmployeeByName(String name);
+
+    /**
+     * Deletes exactly the employee with that id, in one upstream call, and emits it; empty if there is none.
+     */
+    Mono<Employee> deleteEmployeeById(String id);
+
+    /**
+     * Creates all {@code requests} in one upstream call, with a result per request in the same order.
+     */
+    Mono<List<BatchResult<Employee>>> createEmployees(List<CreateEmployeeRequest> requests);
+
+    /**
+     * Deletes the employees with the given ids in one upstream call, with a result per id in the same order: the
+     * deleted employee's name, or an error for ids the mock server doesn't know.
+     */
+    Mono<List<BatchResult<String>>> deleteEmployeesById(List<String> ids);
+}
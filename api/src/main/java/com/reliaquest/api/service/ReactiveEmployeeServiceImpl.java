@@ -0,0 +1,190 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.model.AcknowledgedWrite;
+import com.reliaquest.api.model.BatchResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
+import com.reliaquest.api.replica.RosterReplica;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeServiceImpl.class);
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final EmployeeRosterCache rosterCache;
+
+    // Present when employee.replica.enabled is set; reads use it while it is following the change feed. Local writes
+    // are applied to it as well as to the cache, so a client reads its own write from either.
+    private final Optional<RosterReplica> rosterReplica;
+
+    public ReactiveEmployeeServiceImpl(EmployeeApiClient employeeApiClient, EmployeeRosterCache rosterCache,
+                                       Optional<RosterReplica> rosterReplica) {
+        this.employeeApiClient = employeeApiClient;
+        this.rosterCache = rosterCache;
+        this.rosterReplica = rosterReplica;
+    }
+
+    @Override
+    public Mono<List<Employee>> getAllEmployees() {
+        return roster()
+                .map(RosterSnapshot::employees);
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeesPage(int limit, String cursor) {
+        if (limit < 1) {
+            return Mono.error(new BadRequestException("limit must be at least 1"));
+        }
+        return employeeApiClient.fetchPage(limit, cursor);
+    }
+
+    @Override
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString, NameMatch match) {
+        return roster()
+                .map(snapshot -> snapshot.names().find(searchString, match));
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(String id) {
+        Optional<RosterSnapshot> replicated = replicated();
+        if (replicated.isPresent()) {
+            return Mono.justOrEmpty(replicated.get().findById(id));
+        }
+        return employeeApiClient.fetchById(id)
+                .onErrorResume(CircuitOpenException.class, ex -> Mono.deferContextual(context -> rosterCache.cached()
+                        .map(snapshot -> {
+                            logger.debug("Circuit open, looking up id='{}' in roster snapshot from {}", id,
+                                    snapshot.fetchedAt());
+                            StaleRead.raise(context);
+                            return Mono.justOrEmpty(snapshot.findById(id));
+                        })
+                        .orElseGet(() -> Mono.error(ex))));
+    }
+
+    @Override
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        return roster()
+                .map(snapshot -> snapshot.salaries().highestSalary().orElse(0));
+    }
+
+    @Override
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return roster()
+                .map(snapshot -> snapshot.salaries()
+                        .top(10)
+                        .stream()
+                        .map(Employee::name)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Mono<Employee> createEmployee(CreateEmployeeRequest request) {
+        return employeeApiClient.create(request)
+                .doOnNext(acknowledged -> {
+                    Employee created = acknowledged.result();
+                    logger.debug("Adding created employee id='{}' to roster snapshot", created.id());
+                    rosterCache.add(created);
+                    rosterReplica.ifPresent(replica -> replica.created(List.of(created), acknowledged.version()));
+                })
+                .map(AcknowledgedWrite::result);
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployeeByName(String name) {
+        return employeeApiClient.deleteByName(name)
+                .doOnNext(deleted -> {
+                    if (deleted) {
+                        logger.debug("Removing employee name='{}' from roster snapshot", name);
+                        rosterCache.removeFirstNamed(name);
+                        rosterReplica.ifPresent(replica -> replica.deletedFirstNamed(name));
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Employee> deleteEmployeeById(String id) {
+        return employeeApiClient.deleteById(id)
+                .doOnNext(deleted -> {
+                    logger.debug("Removing employee id='{}' from roster snapshot", id);
+                    rosterCache.removeId(id);
+                    rosterReplica.ifPresent(replica -> replica.deleted(List.of(id)));
+                });
+    }
+
+    @Override
+    public Mono<List<BatchResult<Employee>>> createEmployees(List<CreateEmployeeRequest> requests) {
+        if (requests.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return employeeApiClient.createAll(requests)
+                .doOnNext(acknowledged -> {
+                    List<Employee> created = acknowledged.result().stream()
+                            .map(BatchResult::data)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    logger.debug("Adding {} created employees to roster snapshot", created.size());
+                    rosterCache.add(created);
+                    rosterReplica.ifPresent(replica -> replica.created(created, acknowledged.version()));
+                })
+                .map(AcknowledgedWrite::result);
+    }
+
+    @Override
+    public Mono<List<BatchResult<String>>> deleteEmployeesById(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return employeeApiClient.deleteAllById(ids)
+                .map(results -> {
+                    List<String> deleted = results.stream()
+                            .map(BatchResult::data)
+                            .filter(Objects::nonNull)
+                            .map(Employee::id)
+                            .toList();
+                    logger.debug("Removing {} deleted employees from roster snapshot", deleted.size());
+                    rosterCache.removeIds(deleted);
+                    rosterReplica.ifPresent(replica -> replica.deleted(deleted));
+                    return results.stream()
+                            .map(result -> result.data() == null
+                                    ? BatchResult.<String>error(result.error())
+                                    : BatchResult.of(result.data().name()))
+                            .toList();
+                });
+    }
+
+    private Mono<RosterSnapshot> roster() {
+        return Mono.deferContextual(context -> replicated()
+                .map(Mono::just)
+                .orElseGet(() -> rosterCache.snapshot()
+                        .doOnNext(snapshot -> {
+                            // An expired snapshot is only served past its refresh while the mock server is out.
+                            if (rosterCache.isExpired(snapshot)
+                                    && employeeApiClient.circuitState() != UpstreamCircuitBreaker.State.CLOSED) {
+                                StaleRead.raise(context);
+                            }
+                        })));
+    }
+
+    private Optional<RosterSnapshot> replicated() {
+        return rosterReplica.flatMap(RosterReplica::snapshot);
+    }
+}
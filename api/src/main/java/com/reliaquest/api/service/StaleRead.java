@@ -0,0 +1,26 @@
+package com.reliaquest.api.service;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Raised by a {@link ReactiveEmployeeService} read that had to be answered from the last known roster because the
+ * mock server is unavailable. The caller puts one in the Reactor context of the read with {@link #addTo} and checks
+ * it once the read is done; a read with none in its context is not tracked.
+ */
+public final class StaleRead {
+
+    private volatile boolean raised;
+
+    public static void raise(ContextView context) {
+        context.getOrEmpty(StaleRead.class).ifPresent(staleRead -> ((StaleRead) staleRead).raised = true);
+    }
+
+    public Context addTo(Context context) {
+        return context.put(StaleRead.class, this);
+    }
+
+    public boolean isRaised() {
+        return raised;
+    }
+}
@@ -0,0 +1,246 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeRosterCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final Employee gajanan = new Employee("id1", "Gajanan", 50000, 30, "Engineer", "gajanan@example.com");
+    private final Employee sachin = new Employee("id2", "Sachin", 60000, 28, "Analyst", "sachin@example.com");
+    private final Employee ravi = new Employee("id3", "Ravi", 55000, 35, "Designer", "ravi@example.com");
+
+    private MutableClock clock;
+    private Deque<Mono<List<Employee>>> responses;
+    private int loads;
+    private EmployeeRosterCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        responses = new ArrayDeque<>();
+        loads = 0;
+        cache = new EmployeeRosterCache(() -> {
+            loads++;
+            return responses.removeFirst();
+        }, TTL, clock);
+    }
+
+    @Test
+    public void testSnapshot_loadsOnceWithinTtl() {
+        responses.add(Mono.just(List.of(gajanan)));
+
+        cache.snapshot().block();
+        clock.advance(TTL.minusSeconds(1));
+        RosterSnapshot snapshot = cache.snapshot().block();
+
+        assertEquals(List.of(gajanan), snapshot.employees());
+        assertEquals(1, loads);
+    }
+
+    @Test
+    public void testSnapshot_servesStaleWhileRefreshing() {
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        responses.add(Mono.just(List.of(gajanan)));
+        responses.add(refresh.asMono());
+
+        cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(2, loads);
+
+        refresh.tryEmitValue(List.of(gajanan, sachin));
+        assertEquals(List.of(gajanan, sachin), cache.snapshot().block().employees());
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void testSnapshot_unchangedRosterKeepsIndexes() {
+        List<Employee> roster = List.of(gajanan, sachin);
+        responses.add(Mono.just(roster));
+        responses.add(Mono.just(roster));
+
+        RosterSnapshot first = cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+        cache.snapshot().block();
+        RosterSnapshot refreshed = cache.snapshot().block();
+
+        assertEquals(2, loads);
+        assertSame(first.salaries(), refreshed.salaries());
+        assertSame(first.names(), refreshed.names());
+        assertEquals(clock.instant(), refreshed.fetchedAt());
+    }
+
+    @Test
+    public void testSnapshot_failedRefreshKeepsStaleSnapshot() {
+        responses.add(Mono.just(List.of(gajanan)));
+        responses.add(Mono.error(new RuntimeException("fail")));
+        responses.add(Mono.just(List.of(sachin)));
+
+        cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(List.of(sachin), cache.snapshot().block().employees());
+    }
+
+    @Test
+    public void testSnapshot_initialLoadFailurePropagates() {
+        responses.add(Mono.error(new RuntimeException("fail")));
+
+        assertThrows(RuntimeException.class, () -> cache.snapshot().block());
+    }
+
+    @Test
+    public void testAdd_patchesSnapshot() {
+        responses.add(Mono.just(List.of(gajanan)));
+        cache.snapshot().block();
+
+        cache.add(sachin);
+
+        assertEquals(List.of(gajanan, sachin), cache.snapshot().block().employees());
+        assertEquals(1, loads);
+    }
+
+    @Test
+    public void testRemoveFirstNamed_unknownNameInvalidates() {
+        responses.add(Mono.just(List.of(gajanan)));
+        responses.add(Mono.just(List.of(sachin)));
+        cache.snapshot().block();
+
+        cache.removeFirstNamed("Somebody Else");
+
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(List.of(sachin), cache.snapshot().block().employees());
+    }
+
+    @Test
+    public void testRemoveIds_unknownIdInvalidates() {
+        responses.add(Mono.just(List.of(gajanan, sachin)));
+        responses.add(Mono.just(List.of()));
+        cache.snapshot().block();
+
+        cache.removeIds(List.of("id2", "id9"));
+
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(List.of(), cache.snapshot().block().employees());
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void testRefresh_racingCreateIsReplayedOntoIt() {
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        responses.add(Mono.just(List.of(gajanan)));
+        responses.add(refresh.asMono());
+
+        cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+        cache.snapshot().block();
+        cache.add(sachin);
+        // Fetched before the create landed upstream, but after someone else's.
+        refresh.tryEmitValue(List.of(gajanan, ravi));
+
+        assertEquals(List.of(gajanan, ravi, sachin), cache.snapshot().block().employees());
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void testRefresh_racingCreateAlreadyFetchedIsNotDuplicated() {
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        responses.add(Mono.just(List.of(gajanan)));
+        responses.add(refresh.asMono());
+
+        cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+        cache.snapshot().block();
+        cache.add(List.of(sachin, ravi));
+        refresh.tryEmitValue(List.of(gajanan, sachin));
+
+        assertEquals(List.of(gajanan, sachin, ravi), cache.snapshot().block().employees());
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void testRefresh_racingDeleteByNameIsReplayedById() {
+        Employee sachinToo = new Employee("id4", "SACHIN", 65000, 40, "Manager", "sachin.too@example.com");
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        responses.add(Mono.just(List.of(gajanan, sachin, sachinToo)));
+        responses.add(refresh.asMono());
+
+        cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+        cache.snapshot().block();
+        cache.removeFirstNamed("sachin");
+        // Fetched after the delete landed upstream: the namesake left in it must stay.
+        refresh.tryEmitValue(List.of(gajanan, sachinToo));
+
+        assertEquals(List.of(gajanan, sachinToo), cache.snapshot().block().employees());
+        assertEquals(65000, cache.snapshot().block().salaries().highestSalary().getAsInt());
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void testRefresh_racingDeleteOfUnknownEmployeeRefreshesAgain() {
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        responses.add(Mono.just(List.of(gajanan)));
+        responses.add(refresh.asMono());
+        responses.add(Mono.just(List.of(gajanan)));
+
+        cache.snapshot().block();
+        clock.advance(TTL.plusSeconds(1));
+        cache.snapshot().block();
+        cache.removeFirstNamed("ravi");
+        refresh.tryEmitValue(List.of(gajanan, ravi));
+
+        // The refresh is kept, but since it may predate the delete it is due again.
+        assertEquals(List.of(gajanan, ravi), cache.snapshot().block().employees());
+        assertEquals(List.of(gajanan), cache.snapshot().block().employees());
+        assertEquals(3, loads);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.NameMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameIndexTest {
+
+    private final Employee sachin = employee("id1", "Sachin Tendulkar");
+    private final Employee sachinAgain = employee("id2", "SACHIN TENDULKAR");
+    private final Employee sandeep = employee("id3", "Sandeep Patil");
+    private final Employee anna = employee("id4", "Anna Annan");
+
+    private final NameIndex index = NameIndex.of(List.of(sachin, sandeep, sachinAgain, anna));
+
+    @Test
+    public void testFind_exactIgnoresCaseAndKeepsRosterOrder() {
+        assertEquals(List.of(sachin, sachinAgain), index.find("sachin tendulkar", NameMatch.EXACT));
+        assertTrue(index.find("sachin", NameMatch.EXACT).isEmpty());
+    }
+
+    @Test
+    public void testFind_prefix() {
+        assertEquals(List.of(sachin, sachinAgain, sandeep), index.find("SA", NameMatch.PREFIX));
+        assertEquals(List.of(sandeep), index.find("sand", NameMatch.PREFIX));
+        assertTrue(index.find("zz", NameMatch.PREFIX).isEmpty());
+    }
+
+    @Test
+    public void testFind_containsShortAndLongFragments() {
+        assertEquals(List.of(sachin, sachinAgain), index.find("dul", NameMatch.CONTAINS));
+        assertEquals(List.of(sandeep), index.find("p P", NameMatch.CONTAINS));
+        assertEquals(List.of(anna, sachin, sachinAgain, sandeep), index.find("a", NameMatch.CONTAINS));
+        assertTrue(index.find("tendulkarx", NameMatch.CONTAINS).isEmpty());
+    }
+
+    @Test
+    public void testFind_containsRepeatedTrigramListedOnce() {
+        assertEquals(List.of(anna), index.find("ann", NameMatch.CONTAINS));
+    }
+
+    @Test
+    public void testWithAdded_newAndExistingNames() {
+        Employee zoe = employee("id5", "Zoe");
+        Employee sandeepAgain = employee("id6", "sandeep patil");
+
+        NameIndex patched = index.withAdded(zoe).withAdded(sandeepAgain);
+
+        assertEquals(List.of(zoe), patched.find("zoe", NameMatch.EXACT));
+        assertEquals(List.of(sandeep, sandeepAgain), patched.find("sandeep", NameMatch.PREFIX));
+        assertEquals(List.of(zoe), patched.find("oe", NameMatch.CONTAINS));
+        assertTrue(index.find("zoe", NameMatch.EXACT).isEmpty());
+    }
+
+    @Test
+    public void testWithout_removesOnlyThatEmployee() {
+        NameIndex patched = index.without(sachin).without(sandeep);
+
+        assertEquals(List.of(sachinAgain), patched.find("Sachin Tendulkar", NameMatch.EXACT));
+        assertTrue(patched.find("sandeep", NameMatch.PREFIX).isEmpty());
+        assertTrue(patched.find("patil", NameMatch.CONTAINS).isEmpty());
+    }
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 50000, 30, "Engineer", id + "@example.com");
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalaryIndexTest {
+
+    @Test
+    public void testOf_emptyRoster() {
+        SalaryIndex index = SalaryIndex.of(List.of());
+
+        assertTrue(index.highestSalary().isEmpty());
+        assertTrue(index.top(10).isEmpty());
+    }
+
+    @Test
+    public void testTop_tiesKeepRosterOrder() {
+        Employee first = employee("id1", "Gajanan", 50000);
+        Employee second = employee("id2", "Sachin", 70000);
+        Employee third = employee("id3", "Sandeep", 50000);
+
+        SalaryIndex index = SalaryIndex.of(List.of(first, second, third));
+
+        assertEquals(70000, index.highestSalary().getAsInt());
+        assertEquals(List.of(second, first, third), index.top(10));
+        assertEquals(List.of(second, first), index.top(2));
+    }
+
+    @Test
+    public void testWithAdded_goesAfterExistingTies() {
+        Employee first = employee("id1", "Gajanan", 50000);
+        Employee added = employee("id2", "Sachin", 50000);
+
+        SalaryIndex index = SalaryIndex.of(List.of(first)).withAdded(added);
+
+        assertEquals(List.of(first, added), index.top(10));
+    }
+
+    @Test
+    public void testWithout_removesOnlyThatEmployee() {
+        Employee jayesh = employee("id1", "Jayesh", 60000);
+        Employee jayeshAgain = employee("id2", "Jayesh", 60000);
+        Employee sachin = employee("id3", "Sachin", 60000);
+
+        SalaryIndex index = SalaryIndex.of(List.of(jayesh, jayeshAgain, sachin)).without(jayeshAgain);
+
+        assertEquals(List.of(jayesh, sachin), index.top(10));
+        assertEquals(60000, index.highestSalary().getAsInt());
+    }
+
+    @Test
+    public void testWithout_unknownEmployeeIsNoop() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("id1", "Jayesh", 60000)));
+
+        assertSame(index, index.without(employee("id2", "Jayesh", 60000)));
+    }
+
+    @Test
+    public void testIncrementalUpdates_matchFullSort() {
+        Random random = new Random(42);
+        List<Employee> roster = new ArrayList<>();
+        SalaryIndex index = SalaryIndex.of(roster);
+        for (int i = 0; i < 500; i++) {
+            if (!roster.isEmpty() && random.nextInt(3) == 0) {
+                Employee removed = roster.remove(random.nextInt(roster.size()));
+                index = index.without(removed);
+            } else {
+                Employee added = employee("id" + i, "Emp" + random.nextInt(20), random.nextInt(10) * 1000);
+                roster.add(added);
+                index = index.withAdded(added);
+            }
+        }
+
+        List<Employee> expected = roster.stream()
+                .sorted(Comparator.comparingInt(Employee::salary).reversed())
+                .collect(Collectors.toList());
+        assertEquals(expected, index.top(roster.size()));
+        assertEquals(roster.size(), index.size());
+    }
+
+    private static Employee employee(String id, String name, int salary) {
+        return new Employee(id, name, salary, 30, "Engineer", name.toLowerCase() + "@example.com");
+    }
+}
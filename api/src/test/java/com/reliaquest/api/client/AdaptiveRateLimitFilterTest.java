@@ -0,0 +1,180 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import com.reliaquest.api.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveRateLimitFilterTest {
+
+    private static final URI EMPLOYEES = URI.create("http://localhost:8112/api/v1/employee");
+    private static final Duration COOLDOWN = Duration.ofSeconds(30);
+
+    private Deque<Mono<ClientResponse>> responses;
+    private int attempts;
+    private MutableClock clock;
+    private AdaptiveRateLimiter limiter;
+    private AdaptiveRateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        responses = new ArrayDeque<>();
+        attempts = 0;
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        limiter = new AdaptiveRateLimiter(new EmployeeClientProperties.RateLimit(
+                true, 3, 1, Duration.ofSeconds(5), COOLDOWN, Duration.ofSeconds(5), Duration.ofSeconds(120),
+                Duration.ofSeconds(5), Duration.ZERO), clock);
+        filter = new AdaptiveRateLimitFilter(limiter);
+    }
+
+    @Test
+    public void testFilter_tooManyRequestsIsReportedAsRejection() {
+        learnBudgetOfThree();
+
+        assertEquals(3, limiter.budget());
+        assertEquals(1, limiter.upstreamRejectionCount());
+        assertThrows(RateLimitExceededException.class, () -> exchange(HttpMethod.POST));
+        assertEquals(4, attempts);
+    }
+
+    @Test
+    public void testFilter_notModifiedGivesPermitBack() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        for (int i = 0; i < 5; i++) {
+            responses.add(Mono.just(response(HttpStatus.NOT_MODIFIED)));
+            assertEquals(HttpStatus.NOT_MODIFIED, exchange(HttpMethod.GET).statusCode());
+        }
+        // Reads leave the last permit of the window to writes.
+        for (int i = 0; i < 2; i++) {
+            responses.add(Mono.just(response(HttpStatus.OK)));
+            assertEquals(HttpStatus.OK, exchange(HttpMethod.GET).statusCode());
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> exchange(HttpMethod.GET));
+    }
+
+    @Test
+    public void testFilter_connectFailureGivesPermitBack() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        for (int i = 0; i < 3; i++) {
+            responses.add(Mono.error(new WebClientRequestException(
+                    new ConnectException("Connection refused"), HttpMethod.POST, EMPLOYEES, new HttpHeaders())));
+            assertThrows(WebClientRequestException.class, () -> exchange(HttpMethod.POST));
+        }
+        for (int i = 0; i < 3; i++) {
+            responses.add(Mono.just(response(HttpStatus.OK)));
+            assertEquals(HttpStatus.OK, exchange(HttpMethod.POST).statusCode());
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> exchange(HttpMethod.POST));
+        assertEquals(3, limiter.budget());
+    }
+
+    @Test
+    public void testFilter_otherFailureKeepsPermitSpentWithoutLearning() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        for (int i = 0; i < 3; i++) {
+            responses.add(Mono.error(new TimeoutException()));
+            assertThrows(RuntimeException.class, () -> exchange(HttpMethod.POST));
+        }
+        int attemptsBefore = attempts;
+
+        assertThrows(RateLimitExceededException.class, () -> exchange(HttpMethod.POST));
+        assertEquals(attemptsBefore, attempts);
+        assertEquals(3, limiter.budget());
+        assertEquals(1, limiter.upstreamRejectionCount());
+    }
+
+    @Test
+    public void testFilter_cancelledExchangeKeepsPermitSpent() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        for (int i = 0; i < 3; i++) {
+            responses.add(Mono.never());
+            filter.filter(ClientRequest.create(HttpMethod.POST, EMPLOYEES).build(), this::respond)
+                    .subscribe()
+                    .dispose();
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> exchange(HttpMethod.POST));
+        assertEquals(3, limiter.budget());
+    }
+
+    private void learnBudgetOfThree() {
+        for (int i = 0; i < 3; i++) {
+            responses.add(Mono.just(response(HttpStatus.OK)));
+            exchange(HttpMethod.POST);
+        }
+        responses.add(Mono.just(response(HttpStatus.TOO_MANY_REQUESTS)));
+        exchange(HttpMethod.POST);
+    }
+
+    private ClientResponse exchange(HttpMethod method) {
+        ClientRequest request = ClientRequest.create(method, EMPLOYEES).build();
+        return filter.filter(request, this::respond).block();
+    }
+
+    private Mono<ClientResponse> respond(ClientRequest request) {
+        attempts++;
+        return responses.removeFirst();
+    }
+
+    private static ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import com.reliaquest.api.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveRateLimiterTest {
+
+    private static final Duration COOLDOWN = Duration.ofSeconds(30);
+    private static final Duration RESERVE_HOLD = Duration.ofSeconds(5);
+
+    private MutableClock clock;
+    private AdaptiveRateLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        limiter = new AdaptiveRateLimiter(new EmployeeClientProperties.RateLimit(
+                true, 3, 1, RESERVE_HOLD, COOLDOWN, Duration.ofSeconds(5), Duration.ofSeconds(120), Duration.ofSeconds(5),
+                Duration.ZERO), clock);
+    }
+
+    @Test
+    public void testAcquire_probesAboveBudgetUntilRejected() {
+        for (int i = 0; i < 3; i++) {
+            acquire(AdaptiveRateLimiter.Priority.WRITE).accepted();
+        }
+        acquire(AdaptiveRateLimiter.Priority.WRITE).rejected();
+
+        assertEquals(3, limiter.budget());
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.WRITE));
+        assertEquals(1, limiter.upstreamRejectionCount());
+        assertEquals(1, limiter.localRejectionCount());
+    }
+
+    @Test
+    public void testAcquire_learnedBudgetIsNotProbedAgain() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        for (int i = 0; i < 3; i++) {
+            acquire(AdaptiveRateLimiter.Priority.WRITE).accepted();
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.WRITE));
+        assertEquals(1, limiter.upstreamRejectionCount());
+        assertEquals(COOLDOWN.minusSeconds(5), limiter.cooldown());
+    }
+
+    @Test
+    public void testAcquire_readsLeaveReservedPermitForWrites() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.READ));
+        assertNotNull(acquire(AdaptiveRateLimiter.Priority.WRITE));
+    }
+
+    @Test
+    public void testAcquire_readsUseIdleReserveAndEndTheWindow() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.READ));
+
+        clock.advance(RESERVE_HOLD);
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.READ));
+
+        clock.advance(limiter.cooldown());
+        assertNotNull(acquire(AdaptiveRateLimiter.Priority.READ));
+        assertEquals(3, limiter.budget());
+    }
+
+    @Test
+    public void testAcquire_readsProbeAboveBudgetBeforeAnyRejection() {
+        for (int i = 0; i < 5; i++) {
+            acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+        }
+
+        // Five granted, with the reserve still ahead of them.
+        assertEquals(6, limiter.budget());
+        assertEquals(0, limiter.localRejectionCount());
+    }
+
+    @Test
+    public void testAcquire_cooldownIsTimedFromWhenTheWindowOpened() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+        acquire(AdaptiveRateLimiter.Priority.WRITE).accepted();
+        clock.advance(Duration.ofSeconds(10));
+        acquire(AdaptiveRateLimiter.Priority.WRITE).accepted();
+        acquire(AdaptiveRateLimiter.Priority.WRITE).accepted();
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.WRITE));
+
+        clock.advance(limiter.cooldown().minusSeconds(10));
+        assertNotNull(acquire(AdaptiveRateLimiter.Priority.WRITE));
+    }
+
+    @Test
+    public void testAcquire_doublesCooldownWhenRejectedRightAfterIt() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        acquire(AdaptiveRateLimiter.Priority.WRITE).rejected();
+
+        assertEquals(COOLDOWN.multipliedBy(2), limiter.cooldown());
+        clock.advance(COOLDOWN.minusSeconds(1));
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.WRITE));
+        clock.advance(Duration.ofSeconds(1));
+        assertNotNull(acquire(AdaptiveRateLimiter.Priority.WRITE));
+    }
+
+    @Test
+    public void testAcquire_rejectionBeforeAnyAcceptedKeepsBudget() {
+        acquire(AdaptiveRateLimiter.Priority.WRITE).rejected();
+
+        assertEquals(3, limiter.budget());
+        assertEquals(COOLDOWN, limiter.cooldown());
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.READ));
+    }
+
+    @Test
+    public void testPermit_onlyFirstOutcomeCounts() {
+        AdaptiveRateLimiter.Permit permit = acquire(AdaptiveRateLimiter.Priority.WRITE);
+
+        permit.rejected();
+        permit.rejected();
+
+        assertEquals(1, limiter.upstreamRejectionCount());
+    }
+
+    @Test
+    public void testPermit_notCountedGoesBackToWindow() {
+        learnBudgetOfThree();
+        clock.advance(COOLDOWN);
+
+        for (int i = 0; i < 5; i++) {
+            acquire(AdaptiveRateLimiter.Priority.READ).notCounted();
+        }
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+        acquire(AdaptiveRateLimiter.Priority.READ).accepted();
+
+        assertThrows(RateLimitExceededException.class, () -> acquire(AdaptiveRateLimiter.Priority.READ));
+        assertEquals(3, limiter.budget());
+    }
+
+    private void learnBudgetOfThree() {
+        for (int i = 0; i < 3; i++) {
+            acquire(AdaptiveRateLimiter.Priority.WRITE).accepted();
+        }
+        acquire(AdaptiveRateLimiter.Priority.WRITE).rejected();
+    }
+
+    private AdaptiveRateLimiter.Permit acquire(AdaptiveRateLimiter.Priority priority) {
+        return limiter.acquire(priority).block();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
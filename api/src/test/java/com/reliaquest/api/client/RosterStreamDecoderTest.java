@@ -0,0 +1,90 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.ExternalEmployeeDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterStreamDecoderTest {
+
+    private static final String ROSTER = "{\"data\":["
+            + "{\"id\":\"id1\",\"employee_name\":\"Gajanan\",\"employee_salary\":50000,\"employee_age\":30,"
+            + "\"employee_title\":\"Engineer\",\"employee_email\":\"gajanan@example.com\",\"extra\":{\"a\":[1,2]}},"
+            + "{\"id\":\"id2\",\"employee_name\":\"Sachin\",\"employee_salary\":60000,\"employee_age\":28,"
+            + "\"employee_title\":\"Analyst\",\"employee_email\":\"sachin@example.com\"}"
+            + "],\"status\":\"Successfully processed request.\"}";
+
+    private final RosterStreamDecoder decoder = new RosterStreamDecoder(new ObjectMapper());
+
+    @Test
+    public void testDecode_singleChunk() {
+        List<ExternalEmployeeDto> employees = decoder.decode(chunks(ROSTER, ROSTER.length())).collectList().block();
+
+        assertEquals(2, employees.size());
+        assertEquals("Gajanan", employees.get(0).employeeName());
+        assertEquals(60000, employees.get(1).employeeSalary());
+    }
+
+    @Test
+    public void testDecode_chunksSplitAnywhere() {
+        for (int size = 1; size < 40; size++) {
+            List<ExternalEmployeeDto> employees = decoder.decode(chunks(ROSTER, size)).collectList().block();
+
+            assertEquals(List.of("id1", "id2"), employees.stream().map(ExternalEmployeeDto::id).toList(),
+                    "chunk size " + size);
+        }
+    }
+
+    @Test
+    public void testDecode_emitsEachEmployeeBeforeBodyEnds() {
+        int secondEmployee = ROSTER.indexOf("{\"id\":\"id2\"");
+        List<ExternalEmployeeDto> seen = new ArrayList<>();
+
+        decoder.decode(Flux.just(buffer(ROSTER.substring(0, secondEmployee))).concatWith(Flux.never()))
+                .subscribe(seen::add);
+
+        assertEquals(1, seen.size());
+        assertEquals("id1", seen.get(0).id());
+    }
+
+    @Test
+    public void testDecode_nullData() {
+        List<ExternalEmployeeDto> employees =
+                decoder.decode(chunks("{\"data\":null,\"status\":\"OK\"}", 5)).collectList().block();
+
+        assertTrue(employees.isEmpty());
+    }
+
+    @Test
+    public void testDecode_emptyBody() {
+        assertTrue(decoder.decode(Flux.empty()).collectList().block().isEmpty());
+    }
+
+    @Test
+    public void testDecode_truncatedBody() {
+        String truncated = ROSTER.substring(0, ROSTER.indexOf("{\"id\":\"id2\""));
+
+        assertThrows(DecodingException.class, () -> decoder.decode(chunks(truncated, 16)).collectList().block());
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int start = 0; start < json.length(); start += size) {
+            buffers.add(buffer(json.substring(start, Math.min(json.length(), start + size))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private static DataBuffer buffer(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.api.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    public void setUp() {
+        singleFlight = new SingleFlight(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testExecute_concurrentCallersShareOneCall() {
+        Sinks.One<String> response = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            singleFlight.execute("roster", () -> {
+                calls.incrementAndGet();
+                return response.asMono();
+            }).subscribe(results::add);
+        }
+        response.tryEmitValue("roster-v1");
+
+        assertEquals(1, calls.get());
+        assertEquals(List.of("roster-v1", "roster-v1", "roster-v1"), results);
+        assertEquals(1, singleFlight.executedCount());
+        assertEquals(2, singleFlight.coalescedCount());
+    }
+
+    @Test
+    public void testExecute_differentKeysAreNotCoalesced() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+
+        singleFlight.execute("employee/1", first::asMono).subscribe();
+        singleFlight.execute("employee/2", second::asMono).subscribe();
+
+        assertEquals(2, singleFlight.executedCount());
+        assertEquals(0, singleFlight.coalescedCount());
+    }
+
+    @Test
+    public void testExecute_completedCallIsNotReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("roster", () -> Mono.just(calls.incrementAndGet())).block();
+        Integer second = singleFlight.execute("roster", () -> Mono.just(calls.incrementAndGet())).block();
+
+        assertEquals(2, second);
+        assertEquals(0, singleFlight.coalescedCount());
+    }
+
+    @Test
+    public void testExecute_failureReachesEveryCallerAndFreesKey() {
+        Sinks.One<String> response = Sinks.one();
+        List<Throwable> errors = new ArrayList<>();
+
+        singleFlight.execute("roster", response::asMono).subscribe(value -> { }, errors::add);
+        singleFlight.execute("roster", response::asMono).subscribe(value -> { }, errors::add);
+        response.tryEmitError(new IllegalStateException("429"));
+
+        assertEquals(2, errors.size());
+        assertEquals("ok", singleFlight.execute("roster", () -> Mono.just("ok")).block());
+    }
+
+    @Test
+    public void testExecute_waitIsBounded() {
+        SingleFlight bounded = new SingleFlight(Duration.ofMillis(50));
+
+        assertThrows(RuntimeException.class, () -> bounded.execute("roster", Mono::<String>never).block());
+        assertEquals("ok", bounded.execute("roster", () -> Mono.just("ok")).block());
+    }
+}
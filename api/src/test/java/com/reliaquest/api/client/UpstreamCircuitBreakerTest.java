@@ -0,0 +1,147 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.RateLimitExceededException;
+import com.reliaquest.api.exception.UpstreamRateLimitException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamCircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private MutableClock clock;
+    private UpstreamCircuitBreaker breaker;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        breaker = new UpstreamCircuitBreaker(new EmployeeClientProperties.CircuitBreaker(3, OPEN_DURATION), clock);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void testProtect_opensAfterConsecutiveFailures() {
+        failTimes(3);
+
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(CircuitOpenException.class, () -> call(Mono.just("ok")));
+        assertEquals(3, calls.get());
+        assertEquals(OPEN_DURATION, breaker.retryAfter());
+    }
+
+    @Test
+    public void testProtect_successResetsFailureCount() {
+        failTimes(2);
+        call(Mono.just("ok"));
+        failTimes(2);
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testProtect_clientErrorsDoNotCount() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(WebClientResponseException.class, () -> call(Mono.error(
+                    WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found", new HttpHeaders(), new byte[0], null))));
+        }
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testProtect_localRateLimitRejectionsDoNotCount() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RateLimitExceededException.class,
+                    () -> call(Mono.error(new RateLimitExceededException("budget spent"))));
+        }
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testProtect_halfOpenLetsOneProbeThrough() {
+        failTimes(3);
+        clock.advance(OPEN_DURATION);
+        Sinks.One<String> probe = Sinks.one();
+
+        breaker.protect(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return probe.asMono();
+        })).subscribe();
+
+        assertThrows(CircuitOpenException.class, () -> call(Mono.just("ok")));
+        probe.tryEmitValue("ok");
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals("ok", call(Mono.just("ok")));
+    }
+
+    @Test
+    public void testProtect_failedProbeReopens() {
+        failTimes(3);
+        clock.advance(OPEN_DURATION);
+
+        failTimes(1);
+
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(OPEN_DURATION, breaker.retryAfter());
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(UpstreamRateLimitException.class,
+                    () -> call(Mono.error(new UpstreamRateLimitException("429"))));
+        }
+    }
+
+    private String call(Mono<String> response) {
+        return breaker.protect(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response;
+        })).block();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeClientProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamRetryFilterTest {
+
+    private static final URI EMPLOYEES = URI.create("http://localhost:8112/api/v1/employee");
+
+    private Deque<Mono<ClientResponse>> responses;
+    private int attempts;
+
+    @BeforeEach
+    public void setUp() {
+        responses = new ArrayDeque<>();
+        attempts = 0;
+    }
+
+    @Test
+    public void testFilter_retriesGetAfterServiceUnavailable() {
+        responses.add(Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE)));
+        responses.add(Mono.just(response(HttpStatus.OK)));
+
+        ClientResponse result = exchange(filter(10), HttpMethod.GET);
+
+        assertEquals(HttpStatus.OK, result.statusCode());
+        assertEquals(2, attempts);
+    }
+
+    @Test
+    public void testFilter_givesUpAfterMaxAttempts() {
+        for (int i = 0; i < 3; i++) {
+            responses.add(Mono.just(response(HttpStatus.TOO_MANY_REQUESTS)));
+        }
+        UpstreamRetryFilter filter = filter(10);
+
+        ClientResponse result = exchange(filter, HttpMethod.GET);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, result.statusCode());
+        assertEquals(3, attempts);
+        assertEquals(2, filter.retriedCount());
+    }
+
+    @Test
+    public void testFilter_neverRetriesPost() {
+        responses.add(Mono.just(response(HttpStatus.TOO_MANY_REQUESTS)));
+
+        ClientResponse result = exchange(filter(10), HttpMethod.POST);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, result.statusCode());
+        assertEquals(1, attempts);
+    }
+
+    @Test
+    public void testFilter_retriesDeleteOnlyWhenItWasNotHandled() {
+        responses.add(Mono.just(response(HttpStatus.TOO_MANY_REQUESTS)));
+        responses.add(Mono.error(new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.DELETE, EMPLOYEES, new HttpHeaders())));
+        responses.add(Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        ClientResponse result = exchange(filter(10), HttpMethod.DELETE);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.statusCode());
+        assertEquals(3, attempts);
+    }
+
+    @Test
+    public void testFilter_doesNotRetryDeleteAfterResponseTimeout() {
+        responses.add(Mono.error(new WebClientRequestException(new TimeoutException("no response"),
+                HttpMethod.DELETE, EMPLOYEES, new HttpHeaders())));
+
+        assertThrows(WebClientRequestException.class, () -> exchange(filter(10), HttpMethod.DELETE));
+        assertEquals(1, attempts);
+    }
+
+    @Test
+    public void testFilter_failsFastWhenRetryAfterPassesDeadline() {
+        responses.add(Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .build()));
+
+        ClientResponse result = exchange(filter(10), HttpMethod.GET);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, result.statusCode());
+        assertEquals(1, attempts);
+    }
+
+    @Test
+    public void testFilter_stopsRetryingWhenBudgetIsSpent() {
+        responses.add(Mono.just(response(HttpStatus.BAD_GATEWAY)));
+        responses.add(Mono.just(response(HttpStatus.OK)));
+        responses.add(Mono.just(response(HttpStatus.BAD_GATEWAY)));
+        UpstreamRetryFilter filter = filter(1);
+
+        assertEquals(HttpStatus.OK, exchange(filter, HttpMethod.GET).statusCode());
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange(filter, HttpMethod.GET).statusCode());
+        assertEquals(3, attempts);
+    }
+
+    private UpstreamRetryFilter filter(int budgetCap) {
+        EmployeeClientProperties.Retry settings = new EmployeeClientProperties.Retry(
+                true, 3, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(2), 0, budgetCap);
+        SplittableRandom random = new SplittableRandom(42);
+        return new UpstreamRetryFilter(settings, Clock.systemUTC(), () -> random);
+    }
+
+    private ClientResponse exchange(UpstreamRetryFilter filter, HttpMethod method) {
+        ClientRequest request = ClientRequest.create(method, EMPLOYEES).build();
+        return filter.filter(request, ignored -> {
+            attempts++;
+            return responses.removeFirst();
+        }).block();
+    }
+
+    private static ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+}
@@ -2,8 +2,13 @@ package com.reliaquest.api.controller;
 
 
 import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.CircuitOpenException;
 import com.reliaquest.api.exception.RateLimitExceededException;
+import com.reliaquest.api.model.BatchResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
 import com.reliaquest.api.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +19,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,6 +67,38 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    public void testGetAllEmployees_staleFlagged() throws Exception {
+        Employee e1 = new Employee(
+                "id1", "Gajanan", 50000, 30, "Engineer", "gajanan@example.com"
+        );
+        when(employeeService.getAllEmployees()).thenReturn(List.of(e1));
+        when(employeeService.lastReadWasStale()).thenReturn(true);
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StaleDataResponseAdvice.STALE_HEADER, "true"));
+    }
+
+    @Test
+    public void testGetAllEmployees_freshNotFlagged() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(List.of());
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(StaleDataResponseAdvice.STALE_HEADER));
+    }
+
+    @Test
+    public void testGetAllEmployees_circuitOpen() throws Exception {
+        when(employeeService.getAllEmployees())
+                .thenThrow(new CircuitOpenException("circuit open", Duration.ofMillis(12_500)));
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "13"));
+    }
+
     @Test
     public void testGetAllEmployees_rateLimit() throws Exception {
         when(employeeService.getAllEmployees())
@@ -84,6 +122,60 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    // GET /employees?limit=
+    @Test
+    public void testGetEmployeesPage_withCursor() throws Exception {
+        Employee e1 = new Employee(
+                "id1", "Gajanan", 50000, 30, "Engineer", "gajanan@example.com"
+        );
+        when(employeeService.getEmployeesPage(1, "c1")).thenReturn(new EmployeePage(List.of(e1), "c2"));
+
+        mockMvc.perform(get("/employees").param("limit", "1").param("cursor", "c1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].name").value("Gajanan"))
+                .andExpect(jsonPath("$.nextCursor").value("c2"));
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void testGetEmployeesPage_neverFlaggedStale() throws Exception {
+        when(employeeService.getEmployeesPage(1, null)).thenReturn(new EmployeePage(List.of(), null));
+        when(employeeService.lastReadWasStale()).thenReturn(true);
+
+        mockMvc.perform(get("/employees").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(StaleDataResponseAdvice.STALE_HEADER));
+    }
+
+    @Test
+    public void testGetEmployeesPage_invalidCursor() throws Exception {
+        when(employeeService.getEmployeesPage(10, "stale"))
+                .thenThrow(new BadRequestException("Invalid or expired cursor: stale"));
+
+        mockMvc.perform(get("/employees").param("limit", "10").param("cursor", "stale"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid or expired cursor: stale"));
+    }
+
+    @Test
+    public void testGetEmployeesPage_nonNumericLimit() throws Exception {
+        mockMvc.perform(get("/employees").param("limit", "ten"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid value 'ten' for 'limit'"));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    public void testGetEmployeesPage_internalIllegalArgumentIsServerError() throws Exception {
+        when(employeeService.getEmployeesPage(10, null))
+                .thenThrow(new IllegalArgumentException("bug"));
+
+        mockMvc.perform(get("/employees").param("limit", "10"))
+                .andExpect(status().isInternalServerError());
+    }
+
     // GET /employees/search/{searchString}
     @Test
     public void testGetEmployeesByNameSearch_matches() throws Exception {
@@ -134,6 +226,40 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).getEmployeesByNameSearch("Sachin");
     }
 
+    @Test
+    public void testGetEmployeesByNameSearch_prefixMatch() throws Exception {
+        Employee e = new Employee(
+                "id1", "Sachin", 50000, 30, "Analyst", "sachin@example.com"
+        );
+        when(employeeService.getEmployeesByNameSearch("sac", NameMatch.PREFIX))
+                .thenReturn(List.of(e));
+
+        mockMvc.perform(get("/employees/search/{searchString}", "sac").param("match", "prefix"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Sachin"));
+
+        verify(employeeService, times(1)).getEmployeesByNameSearch("sac", NameMatch.PREFIX);
+        verify(employeeService, never()).getEmployeesByNameSearch("sac");
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_prefixMatchStaleFlagged() throws Exception {
+        when(employeeService.getEmployeesByNameSearch("sac", NameMatch.PREFIX)).thenReturn(List.of());
+        when(employeeService.lastReadWasStale()).thenReturn(true);
+
+        mockMvc.perform(get("/employees/search/{searchString}", "sac").param("match", "prefix"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StaleDataResponseAdvice.STALE_HEADER, "true"));
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_unknownMatch() throws Exception {
+        mockMvc.perform(get("/employees/search/{searchString}", "sac").param("match", "fuzzy"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+
     // GET /employees/{id}
     @Test
     public void testGetEmployeeById_found() throws Exception {
@@ -390,69 +516,122 @@ public class EmployeeControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    // POST /employees/batch
+    @Test
+    public void testCreateEmployees_perItemResults() throws Exception {
+        Employee e = new Employee("id2", "Manoj", 70000, 35, "Manager", "manoj@example.com");
+        when(employeeService.createEmployees(List.of(
+                new CreateEmployeeRequest("Manoj", 70000, 35, "Manager"),
+                new CreateEmployeeRequest("Kid", 1000, 10, "Intern"))))
+                .thenReturn(List.of(BatchResult.of(e), BatchResult.error("age must be greater than or equal to 16")));
+
+        String json = """
+                [
+                  { "name": "Manoj", "salary": 70000, "age": 35, "title": "Manager" },
+                  { "name": "Kid", "salary": 1000, "age": 10, "title": "Intern" }
+                ]
+                """;
+
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data.id").value("id2"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("age must be greater than or equal to 16"));
+
+        verify(employeeService, never()).createEmployee(any(CreateEmployeeRequest.class));
+    }
+
+    @Test
+    public void testCreateEmployees_malformedJson() throws Exception {
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{ \"name\": \"Manoj\", "))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Malformed request body"));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    // DELETE /employees/batch
+    @Test
+    public void testDeleteEmployeesById_batch() throws Exception {
+        when(employeeService.deleteEmployeesById(List.of("id1", "id9")))
+                .thenReturn(List.of(BatchResult.of("Sandeep"), BatchResult.error("Employee not found")));
+
+        mockMvc.perform(delete("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"id1\", \"id9\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data").value("Sandeep"))
+                .andExpect(jsonPath("$[1].error").value("Employee not found"));
+
+        verify(employeeService, never()).getEmployeeById(any());
+    }
+
+    @Test
+    public void testDeleteEmployeesById_malformedJson() throws Exception {
+        mockMvc.perform(delete("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"id1\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+
     // DELETE /employees/{id}
     @Test
     public void testDeleteEmployee_success() throws Exception {
         String id = "id1";
         Employee e = new Employee(id, "Sandeep", 60000, 28,
                 "Analyst", "sandeep@example.com");
-        when(employeeService.getEmployeeById("id1"))
+        when(employeeService.deleteEmployeeById(id))
                 .thenReturn(Optional.of(e));
-        when(employeeService.deleteEmployeeByName(e.name()))
-                .thenReturn(true);
 
         mockMvc.perform(delete("/employees/{id}", id))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Employee deleted successfully"));
 
-        verify(employeeService, times(1)).deleteEmployeeByName(e.name());
+        verify(employeeService, times(1)).deleteEmployeeById(id);
+        verify(employeeService, never()).getEmployeeById(any());
+        verify(employeeService, never()).deleteEmployeeByName(any());
     }
 
     @Test
     public void testDeleteEmployee_notFound() throws Exception {
         String id = "id1";
-        Employee e = new Employee(id, "Sandeep", 60000, 28,
-                "Analyst", "sandeep@example.com");
-        when(employeeService.getEmployeeById("id1"))
-                .thenReturn(Optional.of(e));
-        when(employeeService.deleteEmployeeByName(e.name())).thenReturn(false);
+        when(employeeService.deleteEmployeeById(id)).thenReturn(Optional.empty());
 
         mockMvc.perform(delete("/employees/{id}", id))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Employee not found"));
 
-        verify(employeeService, times(1)).deleteEmployeeByName(e.name());
+        verify(employeeService, times(1)).deleteEmployeeById(id);
     }
 
     @Test
     public void testDeleteEmployee_rateLimit() throws Exception {
         String id = "id1";
-        Employee e = new Employee(id, "Sandeep", 60000, 28,
-                "Analyst", "sandeep@example.com");
-        when(employeeService.getEmployeeById(id))
-                .thenReturn(Optional.of(e));
-        when(employeeService.deleteEmployeeByName(e.name()))
+        when(employeeService.deleteEmployeeById(id))
                 .thenThrow(new RateLimitExceededException("429"));
 
         mockMvc.perform(delete("/employees/{id}", id))
                 .andExpect(status().isTooManyRequests())
                 .andExpect(content().string("429"));
 
-        verify(employeeService, times(1)).deleteEmployeeByName(e.name());
+        verify(employeeService, times(1)).deleteEmployeeById(id);
     }
 
     @Test
     public void testDeleteEmployee_genericError() throws Exception {
         String id = "id1";
-        Employee e = new Employee(id, "Sandeep", 60000, 28,
-                "Analyst", "sandeep@example.com");
-        when(employeeService.getEmployeeById(id))
-                .thenReturn(Optional.of(e));
-        when(employeeService.deleteEmployeeByName(e.name()))
+        when(employeeService.deleteEmployeeById(id))
                 .thenThrow(new RuntimeException("fail"));
 
         mockMvc.perform(delete("/employees/{id}", id))
                 .andExpect(status().isInternalServerError());
 
-        verify(employeeService, times(1)).deleteEmployeeByName(e.name());
+        verify(employeeService, times(1)).deleteEmployeeById(id);
     }
 }
@@ -0,0 +1,165 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.exception.RateLimitExceededException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.NameMatch;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import com.reliaquest.api.service.StaleRead;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    private final Employee sachin = new Employee("id1", "Sachin", 50000, 30, "Analyst", "sachin@example.com");
+
+    @Test
+    public void testGetAllEmployees_nonEmpty() {
+        when(employeeService.getAllEmployees()).thenReturn(Mono.just(List.of(sachin)));
+
+        webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Sachin");
+    }
+
+    @Test
+    public void testGetAllEmployees_staleFlagged() {
+        when(employeeService.getAllEmployees()).thenReturn(Mono.deferContextual(context -> {
+            StaleRead.raise(context);
+            return Mono.just(List.of(sachin));
+        }));
+
+        webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(StaleDataResponseAdvice.STALE_HEADER, "true");
+    }
+
+    @Test
+    public void testGetAllEmployees_freshNotFlagged() {
+        when(employeeService.getAllEmployees()).thenReturn(Mono.just(List.of(sachin)));
+
+        webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(StaleDataResponseAdvice.STALE_HEADER);
+    }
+
+    @Test
+    public void testGetAllEmployees_rateLimit() {
+        when(employeeService.getAllEmployees()).thenReturn(Mono.error(new RateLimitExceededException("429")));
+
+        webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody(String.class).isEqualTo("429");
+    }
+
+    @Test
+    public void testGetEmployeesPage_firstPage() {
+        when(employeeService.getEmployeesPage(1, null))
+                .thenReturn(Mono.just(new EmployeePage(List.of(sachin), "c1")));
+
+        webTestClient.get().uri("/employees?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employees[0].name").isEqualTo("Sachin")
+                .jsonPath("$.nextCursor").isEqualTo("c1");
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_defaultsToExact() {
+        when(employeeService.getEmployeesByNameSearch("Sachin", NameMatch.EXACT))
+                .thenReturn(Mono.just(List.of(sachin)));
+
+        webTestClient.get().uri("/employees/search/{searchString}", "Sachin")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Sachin");
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_unknownMatch() {
+        webTestClient.get().uri("/employees/search/{searchString}?match=fuzzy", "Sachin")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    public void testGetEmployeeById_notFound() {
+        when(employeeService.getEmployeeById("id2")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/employees/{id}", "id2")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testGetHighestSalaryOfEmployees() {
+        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(Mono.just(80000));
+
+        webTestClient.get().uri("/employees/highestSalary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("80000");
+    }
+
+    @Test
+    public void testCreateEmployee_empty() {
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class))).thenReturn(Mono.empty());
+
+        webTestClient.post().uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateEmployeeRequest("Sachin", 50000, 30, "Analyst"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testDeleteEmployeeById_found() {
+        when(employeeService.deleteEmployeeById("id1")).thenReturn(Mono.just(sachin));
+
+        webTestClient.delete().uri("/employees/{id}", "id1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Employee deleted successfully");
+
+        verify(employeeService, times(1)).deleteEmployeeById("id1");
+        verify(employeeService, never()).deleteEmployeeByName(any());
+    }
+
+    @Test
+    public void testDeleteEmployeeById_notFound() {
+        when(employeeService.deleteEmployeeById("id2")).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/employees/{id}", "id2")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,154 @@
+package com.reliaquest.api.load;
+
+import com.reliaquest.api.ApiApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires a burst of concurrent {@code GET /employees/{id}} requests at the api, backed by a stand-in for the mock
+ * server that answers every call after a fixed delay, and records how many upstream calls were in flight at once.
+ * <p>
+ * With platform threads that number is capped by the Tomcat pool; with virtual threads it should follow the offered
+ * load. Run with {@code ./gradlew api:loadTest}.
+ */
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final int PLATFORM_THREADS = 20;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(250);
+    private static final String EMPLOYEE_PATH = "/api/v1/employee/";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private ExecutorService upstreamExecutor;
+    private HttpServer upstream;
+
+    @BeforeEach
+    public void startUpstream() throws IOException {
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext(EMPLOYEE_PATH, exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(UPSTREAM_LATENCY);
+                String id = exchange.getRequestURI().getPath().substring(EMPLOYEE_PATH.length());
+                byte[] body = ("{\"data\":{\"id\":\"" + id + "\",\"employee_name\":\"Load Test\","
+                        + "\"employee_salary\":100000,\"employee_age\":30,\"employee_title\":\"Tester\","
+                        + "\"employee_email\":\"load@company.com\"},\"status\":\"Successfully processed request.\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    public void stopUpstream() {
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testInFlightRequestsScaleWithVirtualThreads() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        logger.info("{} concurrent requests, {} ms upstream latency, {} platform request threads",
+                CONCURRENT_REQUESTS, UPSTREAM_LATENCY.toMillis(), PLATFORM_THREADS);
+        logger.info("Platform threads: {}", platform);
+        logger.info("Virtual threads: {}", virtual);
+
+        assertEquals(CONCURRENT_REQUESTS, platform.succeeded());
+        assertEquals(CONCURRENT_REQUESTS, virtual.succeeded());
+        assertTrue(platform.peakInFlight() <= PLATFORM_THREADS,
+                "platform threads should cap upstream concurrency at the Tomcat pool size");
+        assertTrue(virtual.peakInFlight() > PLATFORM_THREADS,
+                "virtual threads should not be capped by the Tomcat pool size");
+        assertTrue(virtual.elapsed().compareTo(platform.elapsed()) < 0,
+                "virtual threads should finish the burst sooner");
+    }
+
+    private LoadResult run(boolean virtualThreads) {
+        peakInFlight.set(0);
+        try (ConfigurableApplicationContext api = new SpringApplicationBuilder(ApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "employee.service.baseUrl=http://localhost:" + upstream.getAddress().getPort()
+                                + EMPLOYEE_PATH.substring(0, EMPLOYEE_PATH.length() - 1),
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        // Keep the upstream pool out of the way so request threads are the only limit measured.
+                        "employee.client.pool.max-connections=" + CONCURRENT_REQUESTS,
+                        "logging.level.com.reliaquest=warn",
+                        "logging.file.name=")
+                .run();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) api).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = IntStream.range(0, CONCURRENT_REQUESTS)
+                    .mapToObj(i -> client.sendAsync(
+                            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/" + i)).build(),
+                            HttpResponse.BodyHandlers.discarding()))
+                    .toList();
+            long succeeded = responses.stream()
+                    .map(CompletableFuture::join)
+                    .filter(response -> response.statusCode() == 200)
+                    .count();
+            return new LoadResult(succeeded, peakInFlight.get(), Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private record LoadResult(long succeeded, int peakInFlight, Duration elapsed) {
+
+        @Override
+        public String toString() {
+            return "%d ok, peak %d upstream calls in flight, %d ms".formatted(succeeded, peakInFlight,
+                    elapsed.toMillis());
+        }
+    }
+}
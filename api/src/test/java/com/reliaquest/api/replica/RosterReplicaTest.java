@@ -0,0 +1,322 @@
+package com.reliaquest.api.replica;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.RosterReplicaProperties;
+import com.reliaquest.api.exception.ChangeFeedResetException;
+import com.reliaquest.api.model.ChangeStream;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterChange;
+import com.reliaquest.api.model.VersionedRoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RosterReplicaTest {
+
+    private static final long EPOCH = 42;
+
+    private final Employee gajanan = new Employee("id1", "Gajanan", 50000, 30, "Engineer", "gajanan@example.com");
+    private final Employee sachin = new Employee("id2", "Sachin", 60000, 28, "Analyst", "sachin@example.com");
+
+    private EmployeeApiClient employeeApiClient;
+    private MutableClock clock;
+    private RosterReplica replica;
+
+    @BeforeEach
+    public void setUp() {
+        employeeApiClient = mock(EmployeeApiClient.class);
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        replica = new RosterReplica(employeeApiClient,
+                new RosterReplicaProperties(true, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMinutes(1)),
+                clock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        replica.stop();
+    }
+
+    @Test
+    public void testStart_appliesChangesInOrder() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+
+        replica.start();
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.DELETED, gajanan));
+
+        assertTrue(replica.isHealthy());
+        assertEquals(7, replica.version());
+        assertEquals(List.of(sachin), replica.snapshot().orElseThrow().employees());
+        assertEquals(0, replica.lag());
+        assertEquals(Duration.ZERO, replica.behindFor());
+    }
+
+    @Test
+    public void testStart_gapReloadsRoster() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))))
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 8, List.of(gajanan, sachin))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(8L), any()))
+                .thenReturn(Mono.just(new ChangeStream(8, Flux.never())));
+
+        replica.start();
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.CREATED, sachin));
+
+        awaitUntil(() -> replica.version() == 8 && replica.isHealthy());
+        assertEquals(List.of(gajanan, sachin), replica.snapshot().orElseThrow().employees());
+        assertEquals(1, replica.resyncCount());
+    }
+
+    @Test
+    public void testStart_feedResetReloadsRoster() {
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))))
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH + 1, 1, List.of(sachin))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.error(new ChangeFeedResetException("gone")));
+        when(employeeApiClient.openChangeStream(eq(EPOCH + 1), eq(1L), any()))
+                .thenReturn(Mono.just(new ChangeStream(1, Flux.never())));
+
+        replica.start();
+
+        awaitUntil(replica::isHealthy);
+        assertEquals(List.of(sachin), replica.snapshot().orElseThrow().employees());
+        assertEquals(1, replica.resyncCount());
+    }
+
+    @Test
+    public void testStart_droppedStreamIsUnhealthyUntilReconnected() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        Sinks.One<ChangeStream> reconnect = Sinks.one();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), anyLong(), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())))
+                .thenReturn(reconnect.asMono());
+
+        replica.start();
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+        changes.tryEmitError(new RuntimeException("connection reset"));
+        clock.advance(Duration.ofSeconds(3));
+
+        assertFalse(replica.isHealthy());
+        assertTrue(replica.snapshot().isEmpty());
+        assertEquals(Duration.ofSeconds(3), replica.behindFor());
+
+        awaitUntil(() -> mockingDetails(employeeApiClient).getInvocations().size() >= 3);
+        reconnect.tryEmitValue(new ChangeStream(6, Flux.never()));
+
+        assertTrue(replica.isHealthy());
+        assertEquals(6, replica.version());
+        verify(employeeApiClient, times(1)).fetchVersionedRoster();
+        verify(employeeApiClient).openChangeStream(eq(EPOCH), eq(6L), any());
+    }
+
+    @Test
+    public void testStart_healthyOnlyOnceBacklogIsApplied() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(7, changes.asFlux())));
+
+        replica.start();
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+
+        assertFalse(replica.isHealthy());
+        assertTrue(replica.snapshot().isEmpty());
+
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.DELETED, gajanan));
+
+        assertTrue(replica.isHealthy());
+        assertEquals(List.of(sachin), replica.snapshot().orElseThrow().employees());
+    }
+
+    @Test
+    public void testCreated_visibleBeforeTheFeedDeliversIt() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+
+        replica.start();
+        replica.created(List.of(sachin), 6);
+
+        assertEquals(List.of(gajanan, sachin), replica.snapshot().orElseThrow().employees());
+        assertEquals(5, replica.version());
+
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+
+        assertEquals(List.of(gajanan, sachin), replica.snapshot().orElseThrow().employees());
+        assertEquals(6, replica.version());
+    }
+
+    @Test
+    public void testDeleted_visibleBeforeTheFeedDeliversIt() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan, sachin))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+
+        replica.start();
+        replica.deletedFirstNamed("GAJANAN");
+
+        assertEquals(List.of(sachin), replica.snapshot().orElseThrow().employees());
+
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.DELETED, gajanan));
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.CREATED, gajanan));
+
+        assertEquals(List.of(sachin, gajanan), replica.snapshot().orElseThrow().employees());
+        assertEquals(7, replica.version());
+    }
+
+    @Test
+    public void testCreated_skippedWhenTheFeedIsPastItsVersion() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+
+        replica.start();
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.DELETED, sachin));
+        replica.created(List.of(sachin), 6);
+
+        assertEquals(List.of(gajanan), replica.snapshot().orElseThrow().employees());
+        assertEquals(7, replica.version());
+    }
+
+    @Test
+    public void testCreated_skippedWhenTheFeedHasDeletedIt() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+
+        replica.start();
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.DELETED, sachin));
+        replica.created(List.of(sachin), -1);
+
+        assertEquals(List.of(gajanan), replica.snapshot().orElseThrow().employees());
+    }
+
+    @Test
+    public void testCreatedThenDeleted_feedDeliversBothWithoutAGhost() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, changes.asFlux())));
+
+        replica.start();
+        replica.created(List.of(sachin), 6);
+        replica.deleted(List.of(sachin.id()));
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+
+        assertEquals(List.of(gajanan), replica.snapshot().orElseThrow().employees());
+
+        changes.tryEmitNext(new RosterChange(7, RosterChange.Type.DELETED, sachin));
+
+        assertEquals(List.of(gajanan), replica.snapshot().orElseThrow().employees());
+        assertEquals(7, replica.version());
+    }
+
+    @Test
+    public void testLag_countsVersionsBehindTheStreamHead() {
+        Sinks.Many<RosterChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(8, changes.asFlux())));
+
+        replica.start();
+
+        assertEquals(3, replica.lag());
+
+        changes.tryEmitNext(new RosterChange(6, RosterChange.Type.CREATED, sachin));
+
+        assertEquals(2, replica.lag());
+    }
+
+    @Test
+    public void testStart_closedStreamIsReopenedAfterTheReconnectDelay() throws InterruptedException {
+        replica = new RosterReplica(employeeApiClient,
+                new RosterReplicaProperties(true, Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(1)),
+                clock);
+        when(employeeApiClient.fetchVersionedRoster())
+                .thenReturn(Mono.just(new VersionedRoster(EPOCH, 5, List.of(gajanan))));
+        when(employeeApiClient.openChangeStream(eq(EPOCH), eq(5L), any()))
+                .thenReturn(Mono.just(new ChangeStream(5, Flux.empty())));
+
+        replica.start();
+        Thread.sleep(100);
+
+        verify(employeeApiClient, times(1)).openChangeStream(eq(EPOCH), eq(5L), any());
+        assertFalse(replica.isHealthy());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,22 +1,53 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.RosterStreamDecoder;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.config.EmployeeClientProperties;
 import com.reliaquest.api.dto.*;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.CircuitOpenException;
 import com.reliaquest.api.exception.RateLimitExceededException;
+import com.reliaquest.api.model.BatchResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.replica.RosterReplica;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.reactivestreams.Publisher;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,12 +71,36 @@ public class EmployeeServiceImplTest {
     @Mock
     private WebClient.ResponseSpec mockResponseSpec;
 
+    private static final int CIRCUIT_FAILURE_THRESHOLD = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmployeeApiClient employeeApiClient;
+
+    private EmployeeRosterCache rosterCache;
+
     private EmployeeServiceImpl employeeService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        employeeService = new EmployeeServiceImpl(mockWebClient);
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(
+                new EmployeeClientProperties.CircuitBreaker(CIRCUIT_FAILURE_THRESHOLD, Duration.ofSeconds(30)),
+                Clock.systemUTC());
+        employeeApiClient =
+                new EmployeeApiClient(mockWebClient, new SingleFlight(Duration.ofSeconds(10)), circuitBreaker,
+                        new RosterStreamDecoder(objectMapper));
+        rosterCache =
+                new EmployeeRosterCache(employeeApiClient::fetchRoster, Duration.ofSeconds(30), Clock.systemUTC());
+        employeeService = new EmployeeServiceImpl(
+                new ReactiveEmployeeServiceImpl(employeeApiClient, rosterCache, Optional.empty()));
+        // Staleness is recorded on the request being handled, as it is when the controller calls the service.
+        startRequest();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
     }
 
     // Tests for getAllEmployees()
@@ -95,6 +150,111 @@ public class EmployeeServiceImplTest {
         assertThrows(RuntimeException.class, () -> employeeService.getAllEmployees());
     }
 
+    @Test
+    public void testGetAllEmployees_servedFromSnapshot() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "gajanan", 50000, 30,
+                "engineer", "gajanan@example.com"
+        );
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(extDto), "OK")));
+
+        employeeService.getAllEmployees();
+        employeeService.getHighestSalaryOfEmployees();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+        employeeService.getEmployeesByNameSearch("gajanan");
+
+        verify(mockWebClient, times(1)).get();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFetchRoster_notModifiedReusesDecodedRoster() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "gajanan", 50000, 30,
+                "engineer", "gajanan@example.com"
+        );
+        stubGetEmployeeResponse(Mono.empty());
+        when(mockResponseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .eTag("\"v1\"")
+                        .body(toBody(new ResponseWrapperList<>(List.of(extDto), "OK")))))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag("\"v1\"")
+                        .body(Flux.<DataBuffer>empty())));
+
+        List<Employee> first = employeeApiClient.fetchRoster().block();
+        List<Employee> second = employeeApiClient.fetchRoster().block();
+
+        assertSame(first, second);
+        ArgumentCaptor<Consumer<HttpHeaders>> headers = ArgumentCaptor.forClass(Consumer.class);
+        verify(mockRequestHeadersSpec, times(2)).headers(headers.capture());
+        HttpHeaders conditional = new HttpHeaders();
+        headers.getAllValues().get(1).accept(conditional);
+        assertEquals(List.of("\"v1\""), conditional.getIfNoneMatch());
+    }
+
+    @Test
+    public void testReads_answeredFromHealthyReplica() {
+        Employee replicated = new Employee("id1", "gajanan", 50000, 30, "engineer", "gajanan@example.com");
+        RosterReplica replica = mock(RosterReplica.class);
+        when(replica.snapshot()).thenReturn(Optional.of(RosterSnapshot.of(List.of(replicated), Instant.now())));
+        EmployeeServiceImpl replicatedService = new EmployeeServiceImpl(
+                new ReactiveEmployeeServiceImpl(employeeApiClient, rosterCache, Optional.of(replica)));
+
+        assertEquals(List.of(replicated), replicatedService.getAllEmployees());
+        assertEquals(Optional.of(replicated), replicatedService.getEmployeeById("id1"));
+        assertEquals(50000, replicatedService.getHighestSalaryOfEmployees());
+        assertFalse(replicatedService.lastReadWasStale());
+        verifyNoInteractions(mockWebClient);
+    }
+
+    @Test
+    public void testReads_unhealthyReplicaFallsBackUpstream() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "gajanan", 50000, 30,
+                "engineer", "gajanan@example.com"
+        );
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(extDto), "OK")));
+        RosterReplica replica = mock(RosterReplica.class);
+        when(replica.snapshot()).thenReturn(Optional.empty());
+        EmployeeServiceImpl replicatedService = new EmployeeServiceImpl(
+                new ReactiveEmployeeServiceImpl(employeeApiClient, rosterCache, Optional.of(replica)));
+
+        assertEquals(1, replicatedService.getAllEmployees().size());
+        verify(mockWebClient, times(1)).get();
+    }
+
+    // Tests for getEmployeesPage()
+    @Test
+    public void testGetEmployeesPage_mapsPage() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "gajanan", 50000, 30,
+                "engineer", "gajanan@example.com"
+        );
+        stubGetEmployeesPageResponse(Mono.just(new ResponseWrapperPage<>(List.of(extDto), "OK", "c2")));
+
+        EmployeePage page = employeeService.getEmployeesPage(1, "c1");
+
+        assertEquals(1, page.employees().size());
+        assertEquals("gajanan", page.employees().get(0).name());
+        assertEquals("c2", page.nextCursor());
+    }
+
+    @Test
+    public void testGetEmployeesPage_rejectedCursor() {
+        stubGetEmployeesPageResponse(Mono.error(
+                WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesPage(1, "stale"));
+    }
+
+    @Test
+    public void testGetEmployeesPage_nonPositiveLimit() {
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesPage(0, null));
+
+        verifyNoInteractions(mockWebClient);
+    }
+
     // Tests for getEmployeeById()
     @Test
     public void testGetEmployeeById_found() {
@@ -141,6 +301,80 @@ public class EmployeeServiceImplTest {
         assertThrows(RuntimeException.class, () -> employeeService.getEmployeeById(id));
     }
 
+    @Test
+    public void testGetEmployeeById_circuitOpenServedFromSnapshot() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "sachin", 60000, 28,
+                "analyst", "sachin@example.com"
+        );
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(extDto), "OK")));
+        employeeService.getAllEmployees();
+        stubGetEmployeeByIdResponse("id1", Mono.error(new RateLimitExceededException("429")));
+        for (int i = 0; i < CIRCUIT_FAILURE_THRESHOLD; i++) {
+            assertThrows(RateLimitExceededException.class, () -> employeeService.getEmployeeById("id1"));
+        }
+
+        Optional<Employee> result = employeeService.getEmployeeById("id1");
+
+        assertTrue(result.isPresent());
+        assertEquals("sachin", result.get().name());
+        assertTrue(employeeService.lastReadWasStale());
+    }
+
+    @Test
+    public void testGetAllEmployees_circuitOpenWithFreshSnapshotNotStale() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "sachin", 60000, 28,
+                "analyst", "sachin@example.com"
+        );
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(extDto), "OK")));
+        employeeService.getAllEmployees();
+        stubGetEmployeeByIdResponse("id1", Mono.error(new RateLimitExceededException("429")));
+        for (int i = 0; i < CIRCUIT_FAILURE_THRESHOLD; i++) {
+            assertThrows(RateLimitExceededException.class, () -> employeeService.getEmployeeById("id1"));
+        }
+        employeeService.getEmployeeById("id1");
+        assertTrue(employeeService.lastReadWasStale());
+
+        List<Employee> result = employeeService.getAllEmployees();
+
+        assertEquals(1, result.size());
+        assertFalse(employeeService.lastReadWasStale());
+    }
+
+    @Test
+    public void testGetEmployeeById_staleFlagEndsWithTheRequest() {
+        ExternalEmployeeDto extDto = new ExternalEmployeeDto(
+                "id1", "sachin", 60000, 28,
+                "analyst", "sachin@example.com"
+        );
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(extDto), "OK")));
+        employeeService.getAllEmployees();
+        stubGetEmployeeByIdResponse("id1", Mono.error(new RateLimitExceededException("429")));
+        for (int i = 0; i < CIRCUIT_FAILURE_THRESHOLD; i++) {
+            assertThrows(RateLimitExceededException.class, () -> employeeService.getEmployeeById("id1"));
+        }
+        employeeService.getEmployeeById("id1");
+        assertTrue(employeeService.lastReadWasStale());
+
+        startRequest();
+        assertFalse(employeeService.lastReadWasStale());
+
+        RequestContextHolder.resetRequestAttributes();
+        assertTrue(employeeService.getEmployeeById("id1").isPresent());
+        assertFalse(employeeService.lastReadWasStale());
+    }
+
+    @Test
+    public void testGetEmployeeById_circuitOpenWithoutSnapshot() {
+        stubGetEmployeeByIdResponse("id1", Mono.error(new RateLimitExceededException("429")));
+        for (int i = 0; i < CIRCUIT_FAILURE_THRESHOLD; i++) {
+            assertThrows(RateLimitExceededException.class, () -> employeeService.getEmployeeById("id1"));
+        }
+
+        assertThrows(CircuitOpenException.class, () -> employeeService.getEmployeeById("id1"));
+    }
+
     // Tests for getEmployeesByNameSearch()
     @Test
     public void testGetEmployeesByNameSearch_matches() {
@@ -341,6 +575,23 @@ public class EmployeeServiceImplTest {
         assertEquals("id2", result.get().id());
     }
 
+    @Test
+    public void testCreateEmployee_patchesSnapshot() {
+        ExternalEmployeeDto existing = new ExternalEmployeeDto("id1", "gajanan",
+                50000, 30, "engineer", "gajanan@example.com");
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(existing), "OK")));
+        employeeService.getAllEmployees();
+
+        ExternalEmployeeDto created = new ExternalEmployeeDto("id2", "sandeep",
+                70000, 35, "Manager", "sandeep@example.com");
+        stubCreateEmployeeResponse(Mono.just(new ResponseWrapperSingle<>(created, "Created")));
+        employeeService.createEmployee(new CreateEmployeeRequest("sandeep", 70000, 35, "Manager"));
+
+        assertEquals(70000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(2, employeeService.getAllEmployees().size());
+        verify(mockWebClient, times(1)).get();
+    }
+
     @Test
     public void testCreateEmployee_nullData() {
         CreateEmployeeRequest request = new CreateEmployeeRequest("sandeep", 70000,
@@ -388,6 +639,24 @@ public class EmployeeServiceImplTest {
         assertTrue(deleted);
     }
 
+    @Test
+    public void testDeleteEmployeeByName_patchesSnapshot() {
+        ExternalEmployeeDto dto1 = new ExternalEmployeeDto("id1", "jayesh",
+                50000, 30, "engineer", "jayesh@example.com");
+        ExternalEmployeeDto dto2 = new ExternalEmployeeDto("id2", "sachin",
+                60000, 28, "analyst", "sachin@example.com");
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(dto1, dto2), "OK")));
+        employeeService.getAllEmployees();
+
+        stubDeleteEmployeeResponse(Mono.just(new ResponseWrapperSingle<>(true, "Deleted")));
+        employeeService.deleteEmployeeByName("Jayesh");
+
+        List<Employee> remaining = employeeService.getAllEmployees();
+        assertEquals(1, remaining.size());
+        assertEquals("sachin", remaining.get(0).name());
+        verify(mockWebClient, times(1)).get();
+    }
+
     @Test
     public void testDeleteEmployeeByName_dataFalse() {
         String name = "jayesh";
@@ -421,16 +690,116 @@ public class EmployeeServiceImplTest {
         assertThrows(RuntimeException.class, () -> employeeService.deleteEmployeeByName(name));
     }
 
+    // Tests for createEmployees() and deleteEmployeesById()
+    @Test
+    public void testCreateEmployees_patchesSnapshotWithCreated() {
+        ExternalEmployeeDto existing = new ExternalEmployeeDto("id1", "gajanan",
+                50000, 30, "engineer", "gajanan@example.com");
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(existing), "OK")));
+        employeeService.getAllEmployees();
+
+        ExternalEmployeeDto created = new ExternalEmployeeDto("id2", "sandeep",
+                70000, 35, "Manager", "sandeep@example.com");
+        when(mockWebClient.post()).thenReturn(mockRequestBodyUriSpec);
+        stubBatchResponse(mockRequestBodyUriSpec, "/batch", Mono.just(new ResponseWrapperList<>(List.of(
+                new ExternalBatchResultDto<>(created, null),
+                new ExternalBatchResultDto<>(null, "age must be greater than or equal to 16")), "OK")));
+
+        List<BatchResult<Employee>> results = employeeService.createEmployees(List.of(
+                new CreateEmployeeRequest("sandeep", 70000, 35, "Manager"),
+                new CreateEmployeeRequest("child", 1000, 10, "Intern")));
+
+        assertEquals("id2", results.get(0).data().id());
+        assertEquals("age must be greater than or equal to 16", results.get(1).error());
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertEquals(70000, employeeService.getHighestSalaryOfEmployees());
+        verify(mockWebClient, times(1)).get();
+    }
+
+    @Test
+    public void testDeleteEmployeesById_singleUpstreamCall() {
+        ExternalEmployeeDto dto1 = new ExternalEmployeeDto("id1", "jayesh",
+                50000, 30, "engineer", "jayesh@example.com");
+        ExternalEmployeeDto dto2 = new ExternalEmployeeDto("id2", "sachin",
+                60000, 28, "analyst", "sachin@example.com");
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(dto1, dto2), "OK")));
+        employeeService.getAllEmployees();
+        when(mockWebClient.method(org.springframework.http.HttpMethod.DELETE)).thenReturn(mockRequestBodyUriSpec);
+        stubBatchResponse(mockRequestBodyUriSpec, "/batch/ids", Mono.just(new ResponseWrapperList<>(List.of(
+                new ExternalBatchResultDto<>(dto1, null),
+                new ExternalBatchResultDto<>(null, "Employee not found")), "OK")));
+
+        List<BatchResult<String>> results = employeeService.deleteEmployeesById(List.of("id1", "id9"));
+
+        assertEquals(List.of(BatchResult.of("jayesh"), BatchResult.<String>error("Employee not found")), results);
+        verify(mockRequestBodySpec).bodyValue(List.of("id1", "id9"));
+        List<Employee> remaining = employeeService.getAllEmployees();
+        assertEquals(1, remaining.size());
+        assertEquals("sachin", remaining.get(0).name());
+        verify(mockWebClient, times(1)).get();
+    }
+
+    // Tests for deleteEmployeeById()
+    @Test
+    public void testDeleteEmployeeById_patchesSnapshot() {
+        ExternalEmployeeDto dto1 = new ExternalEmployeeDto("id1", "jayesh",
+                50000, 30, "engineer", "jayesh@example.com");
+        ExternalEmployeeDto dto2 = new ExternalEmployeeDto("id2", "Jayesh",
+                60000, 28, "analyst", "jayesh2@example.com");
+        stubGetEmployeeResponse(Mono.just(new ResponseWrapperList<>(List.of(dto1, dto2), "OK")));
+        employeeService.getAllEmployees();
+        stubDeleteEmployeeByIdResponse("id2", Mono.just(new ResponseWrapperSingle<>(dto2, "OK")));
+
+        Optional<Employee> deleted = employeeService.deleteEmployeeById("id2");
+
+        assertEquals("id2", deleted.get().id());
+        assertEquals(List.of("id1"), employeeService.getAllEmployees().stream().map(Employee::id).toList());
+        verify(mockWebClient, never()).method(any());
+        verify(mockWebClient, times(1)).get();
+    }
+
+    @Test
+    public void testDeleteEmployeeById_notFound() {
+        stubDeleteEmployeeByIdResponse("id9", Mono.error(WebClientResponseException.create(
+                404, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertTrue(employeeService.deleteEmployeeById("id9").isEmpty());
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
     private void stubGetEmployeeResponse(Mono<ResponseWrapperList<ExternalEmployeeDto>> wrapper) {
         when(mockWebClient.get()).thenReturn(mockRequestUriSpec);
         when(mockRequestUriSpec.uri("")).thenReturn(mockRequestHeadersSpec);
         when(mockRequestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.headers(any())).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.retrieve()).thenReturn(mockResponseSpec);
+        // The roster is decoded from the raw body as it streams in, so hand the client the serialized wrapper.
+        when(mockResponseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(wrapper.map(body -> ResponseEntity.ok(toBody(body))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubGetEmployeesPageResponse(Mono<ResponseWrapperPage<ExternalEmployeeDto>> wrapper) {
+        when(mockWebClient.get()).thenReturn(mockRequestUriSpec);
+        when(mockRequestUriSpec.uri(any(Function.class))).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(mockRequestHeadersSpec);
         when(mockRequestHeadersSpec.retrieve()).thenReturn(mockResponseSpec);
         when(mockResponseSpec.bodyToMono(
-                ArgumentMatchers.<ParameterizedTypeReference<ResponseWrapperList<ExternalEmployeeDto>>>any()
+                ArgumentMatchers.<ParameterizedTypeReference<ResponseWrapperPage<ExternalEmployeeDto>>>any()
         )).thenReturn(wrapper);
     }
 
+    private Flux<DataBuffer> toBody(ResponseWrapperList<ExternalEmployeeDto> wrapper) {
+        try {
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(objectMapper.writeValueAsBytes(wrapper)));
+        } catch (JsonProcessingException ex) {
+            return Flux.error(ex);
+        }
+    }
+
     private void stubGetEmployeeByIdResponse(String id, Mono<ResponseWrapperSingle<ExternalEmployeeDto>> wrapper) {
         when(mockWebClient.get()).thenReturn(mockRequestUriSpec);
         when(mockRequestUriSpec.uri("/{id}", id)).thenReturn(mockRequestHeadersSpec);
@@ -449,6 +818,31 @@ public class EmployeeServiceImplTest {
                 .when(mockRequestBodySpec)
                 .body(any(Publisher.class), eq(CreateEmployeeRequest.class));
         when(mockRequestBodySpec.retrieve()).thenReturn(mockResponseSpec);
+        when(mockResponseSpec.toEntity(
+                ArgumentMatchers.<ParameterizedTypeReference<ResponseWrapperSingle<ExternalEmployeeDto>>>any()
+        )).thenReturn(wrapper.map(ResponseEntity::ok));
+    }
+
+    private <T> void stubBatchResponse(WebClient.RequestBodyUriSpec uriSpec, String path,
+                                       Mono<ResponseWrapperList<ExternalBatchResultDto<T>>> wrapper) {
+        when(uriSpec.uri(path)).thenReturn(mockRequestBodySpec);
+        when(mockRequestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(mockRequestBodySpec);
+        doReturn(mockRequestBodySpec).when(mockRequestBodySpec).bodyValue(any());
+        when(mockRequestBodySpec.retrieve()).thenReturn(mockResponseSpec);
+        when(mockResponseSpec.bodyToMono(
+                ArgumentMatchers.<ParameterizedTypeReference<ResponseWrapperList<ExternalBatchResultDto<T>>>>any()
+        )).thenReturn(wrapper);
+        when(mockResponseSpec.toEntity(
+                ArgumentMatchers.<ParameterizedTypeReference<ResponseWrapperList<ExternalBatchResultDto<T>>>>any()
+        )).thenReturn(wrapper.map(ResponseEntity::ok));
+    }
+
+    private void stubDeleteEmployeeByIdResponse(String id,
+                                                Mono<ResponseWrapperSingle<ExternalEmployeeDto>> wrapper) {
+        when(mockWebClient.delete()).thenReturn(mockRequestUriSpec);
+        when(mockRequestUriSpec.uri("/{id}", id)).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.retrieve()).thenReturn(mockResponseSpec);
         when(mockResponseSpec.bodyToMono(
                 ArgumentMatchers.<ParameterizedTypeReference<ResponseWrapperSingle<ExternalEmployeeDto>>>any()
         )).thenReturn(wrapper);
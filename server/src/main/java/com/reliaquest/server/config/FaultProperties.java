@@ -0,0 +1,15 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.fault.FaultRule;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Faults injected into the mock server's responses; none unless a profile or the admin endpoint sets rules.
+ *
+ * @param seed  seed for the draws deciding each request's fault, so a run can be replayed; random when not set
+ * @param rules checked in order, the first one matching a request applies
+ */
+@ConfigurationProperties(prefix = "mock.faults")
+public record FaultProperties(Long seed, @DefaultValue List<FaultRule> rules) {}
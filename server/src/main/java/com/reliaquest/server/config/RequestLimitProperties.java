@@ -0,0 +1,28 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.limit.LimiterStrategy;
+import com.reliaquest.server.web.ClientKey;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the mock server's request limit.
+ *
+ * @param strategy  how requests are counted against the limit
+ * @param limit     requests per window; drawn from 5-9 when not set
+ * @param window    length of a window; drawn from 30-89 seconds when not set
+ * @param seed      seed for drawing the unset values, so a run's limit can be reproduced; random when not set
+ * @param key       what the limit is counted per
+ * @param keyHeader request header holding the client key when {@code key} is {@code header}
+ * @param maxKeys   distinct client keys tracked before new ones share a single overflow limit
+ */
+@ConfigurationProperties(prefix = "mock.limiter")
+public record RequestLimitProperties(
+        @DefaultValue("fixed-window") LimiterStrategy strategy,
+        Integer limit,
+        Duration window,
+        Long seed,
+        @DefaultValue("global") ClientKey key,
+        @DefaultValue("X-Client-Id") String keyHeader,
+        @DefaultValue("10000") int maxKeys) {}
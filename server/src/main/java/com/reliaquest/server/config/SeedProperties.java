@@ -0,0 +1,18 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.seed.SeedMode;
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How the roster is seeded at startup.
+ *
+ * @param mode          how {@code mock.employees.max} employees are generated
+ * @param seed          seed for {@code parallel} generation, so a roster can be reproduced; random when not set
+ * @param partitionSize employees generated together by one task in {@code parallel} mode
+ * @param file          roster to load instead of generating one
+ */
+@ConfigurationProperties(prefix = "mock.employees.seeding")
+public record SeedProperties(
+        @DefaultValue("datafaker") SeedMode mode, Long seed, @DefaultValue("10000") int partitionSize, Path file) {}
@@ -1,19 +1,40 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.fault.FaultInjector;
+import com.reliaquest.server.limit.RequestLimiter;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.persist.RosterPersistence;
+import com.reliaquest.server.seed.ParallelRosterGenerator;
+import com.reliaquest.server.seed.RosterSeedFile;
+import com.reliaquest.server.seed.SeedMode;
+import com.reliaquest.server.store.ChangeJournal;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.StorageEngine;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.NotModifiedRosterRequest;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,20 +42,115 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties({RequestLimitProperties.class, FaultProperties.class, SeedProperties.class})
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    // Looked up lazily; the interceptor is one of the beans defined here.
+    private final ObjectProvider<RequestLimitInterceptor> requestLimitInterceptor;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public MockEmployeeStore mockEmployeeStore(
+            Faker faker,
+            ObjectMapper objectMapper,
+            SeedProperties seeding,
+            ObjectProvider<RosterPersistence> rosterPersistence,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.changes.retention:10000}") int changeRetention,
+            @Value("${mock.employees.storage:heap}") StorageEngine storage)
+            throws IOException {
+        final var started = System.nanoTime();
+        final var persistence = rosterPersistence.getIfAvailable();
+        final var recovered = persistence == null ? Optional.<List<MockEmployee>>empty() : persistence.recovered();
+        final List<MockEmployee> seed;
+        final Object source;
+        if (recovered.isPresent()) {
+            seed = recovered.get();
+            source = persistence.directory();
+        } else if (seeding.file() != null) {
+            seed = RosterSeedFile.read(seeding.file(), objectMapper.getFactory());
+            source = seeding.file();
+        } else if (seeding.mode() == SeedMode.PARALLEL) {
+            final long randomSeed = seeding.seed() != null ? seeding.seed() : RandomGenerator.getDefault().nextLong();
+            seed = new ParallelRosterGenerator(Locale.getDefault(), randomSeed, seeding.partitionSize())
+                    .generate(maxEmployees);
+            source = seeding.mode();
+        } else {
+            seed = fakeEmployees(faker, maxEmployees);
+            source = seeding.mode();
+        }
+        if (persistence != null) {
+            persistence.checkpoint(seed);
+        }
+        final var store = new MockEmployeeStore(
+                seed, changeRetention, storage, persistence != null ? persistence::write : ChangeJournal.NONE);
+        log.info(
+                "Seeded {} employees in {}ms ({}, {} storage)",
+                seed.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                source,
+                storage);
+        return store;
+    }
+
+    @Bean
+    public RequestLimiter requestLimiter(RequestLimitProperties properties) {
+        final RandomGenerator random =
+                properties.seed() == null ? RandomGenerator.getDefault() : new SplittableRandom(properties.seed());
+        final var limit = properties.limit() != null ? properties.limit() : random.nextInt(5, 10);
+        final var window =
+                properties.window() != null ? properties.window() : Duration.ofSeconds(random.nextInt(30, 90));
+        log.info(
+                "Limiting requests to {} per {} ({}, per {} key)",
+                limit,
+                window,
+                properties.strategy(),
+                properties.key());
+        return new RequestLimiter(
+                properties.strategy(), limit, window, properties.maxKeys(), () -> System.nanoTime() / 1_000_000);
+    }
+
+    @Bean
+    public RequestLimitInterceptor requestLimitInterceptor(
+            RequestLimiter requestLimiter, RequestLimitProperties properties, MockEmployeeStore mockEmployeeStore) {
+        // A 304 for an unchanged roster costs next to nothing, so it never counts against the limit.
+        return new RequestLimitInterceptor(
+                requestLimiter,
+                properties.key().resolver(properties.keyHeader()),
+                new NotModifiedRosterRequest(mockEmployeeStore::etag));
+    }
+
+    @Bean
+    public FaultInjector faultInjector(FaultProperties properties) {
+        final long seed = properties.seed() != null ? properties.seed() : RandomGenerator.getDefault().nextLong();
+        // Logged even without rules: rules set later on /admin/faults draw from this seed too.
+        log.info("Injecting faults with seed {}: {}", seed, properties.rules());
+        return new FaultInjector(properties.rules(), seed);
+    }
+
+    @Bean
+    public FaultInjectionFilter faultInjectionFilter(FaultInjector faultInjector, ObjectMapper objectMapper) {
+        return new FaultInjectionFilter(faultInjector, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.persistence.enabled", havingValue = "true")
+    public RosterPersistence rosterPersistence(
+            @Value("${mock.employees.persistence.directory:mock-data}") Path directory) throws IOException {
+        return RosterPersistence.open(directory);
+    }
+
+    private static List<MockEmployee> fakeEmployees(Faker faker, int maxEmployees) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -49,11 +165,12 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+                .collect(Collectors.toList());
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(requestLimitInterceptor.getObject())
+                .excludePathPatterns(FaultInjectionFilter.ADMIN_PATH + "**");
     }
 }
@@ -0,0 +1,43 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.fault.FaultInjector;
+import com.reliaquest.server.fault.FaultRule;
+import com.reliaquest.server.fault.FaultSettings;
+import com.reliaquest.server.model.Response;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reads and replaces the fault injection rules while the server runs, answering with the rules in force and the seed
+ * they draw from. Requests here are never faulted or limited.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+public class FaultAdminController {
+
+    private final FaultInjector faultInjector;
+
+    @GetMapping()
+    public Response<FaultSettings> getRules() {
+        return Response.handledWith(FaultSettings.of(faultInjector));
+    }
+
+    @PutMapping()
+    public Response<FaultSettings> replaceRules(@RequestBody List<FaultRule> rules) {
+        faultInjector.replace(rules);
+        return Response.handledWith(FaultSettings.of(faultInjector));
+    }
+
+    @DeleteMapping()
+    public Response<FaultSettings> clearRules() {
+        faultInjector.replace(List.of());
+        return Response.handledWith(FaultSettings.of(faultInjector));
+    }
+}
@@ -1,15 +1,22 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.exception.BadRequestException;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeChanges;
+import com.reliaquest.server.web.ChangeStreamBroadcaster;
+import com.reliaquest.server.web.StreamingRosterWriter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +24,90 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+
     private final MockEmployeeService mockEmployeeService;
+    private final StreamingRosterWriter streamingRosterWriter;
+    private final ChangeStreamBroadcaster changeStreamBroadcaster;
+
+    @Value("${mock.employees.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${mock.employees.batch.max-size:1000}")
+    private int maxBatchSize;
 
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<StreamingResponseBody> getEmployees(WebRequest request) {
+        final var snapshot = mockEmployeeService.snapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                // Where a change feed consumer picks up from after loading this roster.
+                .header(ROSTER_EPOCH_HEADER, Long.toString(snapshot.epoch()))
+                .header(ROSTER_VERSION_HEADER, Long.toString(snapshot.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> streamingRosterWriter.write(snapshot.employees(), out));
+    }
+
+    /**
+     * Opt-in pagination: only requests carrying {@code limit} land here, so existing clients keep getting the whole
+     * roster. Larger limits are clamped to {@code mock.employees.page.max-limit}.
+     */
+    @GetMapping(params = "limit")
+    public Response<List<MockEmployee>> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(name = "cursor", required = false) String cursor) {
+        final var page = mockEmployeeService.page(cursor, Math.min(limit, maxPageLimit));
+        return Response.handledWith(page.employees(), page.next() == null ? null : page.next().encode());
+    }
+
+    /**
+     * Changes after version {@code since}. 410 when some of them are no longer retained, or when {@code epoch} is
+     * given and belongs to a previous run; either way the consumer has to reload the roster.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(
+            @RequestParam("since") long since,
+            @RequestParam(name = "limit", defaultValue = "500") int limit,
+            @RequestParam(name = "epoch", required = false) Long epoch) {
+        if (epoch != null && epoch != mockEmployeeService.epoch()) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Response.error("Change feed restarted; reload"));
+        }
+        return mockEmployeeService
+                .changesSince(since, Math.min(limit, maxPageLimit))
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since %d are no longer retained; reload".formatted(since))));
+    }
+
+    /**
+     * The same changes as server-sent events: {@code created} and {@code deleted} events carrying the change, with
+     * the sequence number as event id, and a final {@code reset} event if the subscriber falls behind the log. The
+     * roster version at subscription is sent as a header: once the subscriber has that change, it has the backlog.
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam("since") long since, @RequestParam(name = "epoch", required = false) Long epoch) {
+        if (epoch != null && epoch != mockEmployeeService.epoch()) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        final var head = mockEmployeeService.version();
+        return ResponseEntity.ok()
+                .header(ROSTER_VERSION_HEADER, Long.toString(head))
+                .body(changeStreamBroadcaster.subscribe(since));
     }
 
     @GetMapping("/{id}")
@@ -39,13 +118,71 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /**
+     * Creates an employee. The roster version once it is in is sent as a header, so a change feed consumer can tell
+     * whether it has already seen the create.
+     */
     @PostMapping()
-    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.create(input));
+    public ResponseEntity<Response<MockEmployee>> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
+        final var created = mockEmployeeService.create(input);
+        return ResponseEntity.ok()
+                .header(ROSTER_VERSION_HEADER, Long.toString(created.version()))
+                .body(Response.handledWith(created.result()));
     }
 
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /**
+     * Deletes exactly the employee with that id and returns it; 404 if there is none.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    /**
+     * Creates many employees in one request, which counts once against the request limit. Results are in request
+     * order; an invalid item gets an error in its slot instead of failing the batch. The roster version once they are
+     * in is sent as a header, like for a single create.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        checkBatchSize(inputs);
+        final var created = mockEmployeeService.createAll(inputs);
+        return ResponseEntity.ok()
+                .header(ROSTER_VERSION_HEADER, Long.toString(created.version()))
+                .body(Response.handledWith(created.result()));
+    }
+
+    /**
+     * Deletes by name for many names in one request, in request order, with a result per name.
+     */
+    @DeleteMapping("/batch")
+    public Response<List<BatchResult<Boolean>>> deleteEmployees(@RequestBody List<DeleteMockEmployeeInput> inputs) {
+        checkBatchSize(inputs);
+        return Response.handledWith(mockEmployeeService.deleteAll(inputs));
+    }
+
+    /**
+     * Deletes by id for many ids in one request, in request order, with the removed employee or an error per id.
+     */
+    @DeleteMapping("/batch/ids")
+    public Response<List<BatchResult<MockEmployee>>> deleteEmployeesById(@RequestBody List<UUID> uuids) {
+        checkBatchSize(uuids);
+        return Response.handledWith(mockEmployeeService.deleteAllById(uuids));
+    }
+
+    private void checkBatchSize(List<?> inputs) {
+        if (inputs.size() > maxBatchSize) {
+            throw new BadRequestException(
+                    "Batch of %d items exceeds the limit of %d".formatted(inputs.size(), maxBatchSize));
+        }
+    }
 }
@@ -1,15 +1,37 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.exception.BadRequestException;
 import com.reliaquest.server.model.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @Slf4j
 @ControllerAdvice
 public class MockEmployeeControllerAdvice {
 
+    @ExceptionHandler
+    protected ResponseEntity<?> handleBadRequest(BadRequestException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler
+    protected ResponseEntity<?> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(Response.error("Invalid %s '%s'".formatted(ex.getName(), ex.getValue())));
+    }
+
+    @ExceptionHandler
+    protected ResponseEntity<?> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Response.error("Malformed request body"));
+    }
+
     @ExceptionHandler
     protected ResponseEntity<?> handleException(Throwable ex) {
         log.error("Error handling web request.", ex);
@@ -0,0 +1,15 @@
+package com.reliaquest.server.exception;
+
+/**
+ * The client sent a request the mock server can't serve as given, such as a malformed cursor or an oversized batch.
+ * Answered with 400; any other exception is treated as the server's own fault.
+ */
+public class BadRequestException extends IllegalArgumentException {
+    public BadRequestException(final String message) {
+        super(message);
+    }
+
+    public BadRequestException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.server.fault;
+
+/**
+ * What happens to one request: an optional delay first, then one of the outcomes.
+ */
+public record Fault(long delayMillis, Outcome outcome, int errorStatus, FaultRule.Trickle trickle) {
+
+    public enum Outcome {
+        /** Handled as usual, with the body trickled if the rule says so. */
+        HANDLE,
+        /** Answered with the rule's error status without being handled. */
+        ERROR,
+        /** Not handled; the connection is closed part-way through a response. */
+        RESET
+    }
+}
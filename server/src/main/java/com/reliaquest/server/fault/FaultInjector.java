@@ -0,0 +1,78 @@
+package com.reliaquest.server.fault;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Decides the {@link Fault} for each request from the first {@link FaultRule} matching it. Rules can be replaced at
+ * runtime.
+ * <p>
+ * Every decision draws from a generator derived from the seed and the request's arrival number, so with the same
+ * seed the n-th request always gets the same delay and outcome, however many threads are serving.
+ */
+@Slf4j
+public class FaultInjector {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final long seed;
+    private final AtomicLong arrivals = new AtomicLong();
+
+    private volatile List<FaultRule> rules;
+
+    public FaultInjector(@NonNull List<FaultRule> rules, long seed) {
+        this.rules = List.copyOf(rules);
+        this.seed = seed;
+    }
+
+    public List<FaultRule> rules() {
+        return rules;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Replaces the rules and restarts the sequence of draws, as if the server had just started with them.
+     */
+    public synchronized void replace(@NonNull List<FaultRule> replacement) {
+        rules = List.copyOf(replacement);
+        arrivals.set(0);
+        log.info("Fault injection rules replaced, drawing again from seed {}: {}", seed, rules);
+    }
+
+    /**
+     * The fault for a request, or {@code null} when no rule matches it.
+     */
+    public Fault decide(@NonNull String method, @NonNull String path) {
+        final var current = rules;
+        if (current.isEmpty()) {
+            return null;
+        }
+        for (final var rule : current) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && pathMatcher.match(rule.path(), path)) {
+                return decide(rule, new SplittableRandom(seed + arrivals.getAndIncrement()));
+            }
+        }
+        return null;
+    }
+
+    private static Fault decide(FaultRule rule, SplittableRandom random) {
+        final var delay = rule.latency().sampleMillis(random);
+        final var roll = random.nextDouble();
+        final Fault.Outcome outcome;
+        if (roll < rule.errorRate()) {
+            outcome = Fault.Outcome.ERROR;
+        } else if (roll < rule.errorRate() + rule.resetRate()) {
+            outcome = Fault.Outcome.RESET;
+        } else {
+            outcome = Fault.Outcome.HANDLE;
+        }
+        return new Fault(delay, outcome, rule.errorStatus(), rule.trickle());
+    }
+}
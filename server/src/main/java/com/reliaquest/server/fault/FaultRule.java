@@ -0,0 +1,97 @@
+package com.reliaquest.server.fault;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Faults injected into requests matching {@code method} (any when {@code null}) and the Ant-style {@code path}.
+ *
+ * @param latency    delay before the request is handled
+ * @param errorRate  share of requests answered with {@code errorStatus} instead of being handled
+ * @param resetRate  share of requests whose connection is closed part-way through a response instead
+ * @param trickle    how the body of handled requests is slowed down
+ */
+public record FaultRule(
+        String method,
+        String path,
+        Latency latency,
+        double errorRate,
+        int errorStatus,
+        double resetRate,
+        Trickle trickle) {
+
+    public FaultRule {
+        path = path == null ? "/**" : path;
+        latency = latency == null ? Latency.NONE : latency;
+        errorStatus = errorStatus == 0 ? 503 : errorStatus;
+        trickle = trickle == null ? Trickle.NONE : trickle;
+        if (errorRate < 0 || resetRate < 0 || errorRate + resetRate > 1) {
+            throw new IllegalArgumentException("Error and reset rates must be between 0 and 1 and add up to at most 1");
+        }
+        if (errorStatus < 400 || errorStatus > 599) {
+            throw new IllegalArgumentException("Error status must be a 4xx or 5xx status");
+        }
+    }
+
+    public enum Distribution {
+        NONE,
+        /** Always {@code delay}. */
+        FIXED,
+        /** Normally distributed around {@code delay} with standard deviation {@code jitter}. */
+        NORMAL,
+        /**
+         * Log-normal with median {@code delay} and shape {@code tail}: most requests land near the median, a few
+         * take many times longer. A tail of 1 puts the 99th percentile at about ten times the median.
+         */
+        LONG_TAIL
+    }
+
+    /**
+     * @param max upper bound for any sampled delay; unbounded when not set
+     */
+    public record Latency(Distribution distribution, Duration delay, Duration jitter, double tail, Duration max) {
+
+        public static final Latency NONE = new Latency(Distribution.NONE, null, null, 0, null);
+
+        public Latency {
+            distribution = distribution == null ? Distribution.NONE : distribution;
+            delay = delay == null ? Duration.ZERO : delay;
+            jitter = jitter == null ? Duration.ZERO : jitter;
+            if (delay.isNegative() || jitter.isNegative() || tail < 0) {
+                throw new IllegalArgumentException("Latency settings must not be negative");
+            }
+        }
+
+        public long sampleMillis(RandomGenerator random) {
+            final double sampled =
+                    switch (distribution) {
+                        case NONE -> 0;
+                        case FIXED -> delay.toMillis();
+                        case NORMAL -> delay.toMillis() + random.nextGaussian() * jitter.toMillis();
+                        case LONG_TAIL -> delay.toMillis() * Math.exp(tail * random.nextGaussian());
+                    };
+            final var bounded = Math.max(0, Math.round(sampled));
+            return max == null ? bounded : Math.min(bounded, max.toMillis());
+        }
+    }
+
+    /**
+     * Writes the body {@code chunkSize} bytes at a time, waiting {@code interval} after each chunk. Off when the
+     * chunk size is 0.
+     */
+    public record Trickle(int chunkSize, Duration interval) {
+
+        public static final Trickle NONE = new Trickle(0, null);
+
+        public Trickle {
+            interval = interval == null ? Duration.ZERO : interval;
+            if (chunkSize < 0 || interval.isNegative()) {
+                throw new IllegalArgumentException("Trickle settings must not be negative");
+            }
+        }
+
+        public boolean enabled() {
+            return chunkSize > 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.server.fault;
+
+import java.util.List;
+
+/**
+ * The rules in force and the seed their draws come from; with both, a run's faults can be replayed.
+ */
+public record FaultSettings(long seed, List<FaultRule> rules) {
+
+    public static FaultSettings of(FaultInjector faultInjector) {
+        return new FaultSettings(faultInjector.seed(), faultInjector.rules());
+    }
+}
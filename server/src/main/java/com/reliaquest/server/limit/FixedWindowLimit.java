@@ -0,0 +1,46 @@
+package com.reliaquest.server.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * At most {@code limit} requests per window. A window opens with the first request after the previous one closed,
+ * so a client that has spent its window is refused until {@code window} after that window opened.
+ */
+final class FixedWindowLimit implements Limit {
+
+    static final int MAX_LIMIT = (1 << 20) - 1;
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int limit;
+    private final long window;
+
+    // When the current window opened in the high bits, requests admitted in it in the low bits.
+    private final AtomicLong state;
+
+    FixedWindowLimit(int limit, long window, long now) {
+        this.limit = limit;
+        this.window = window;
+        this.state = new AtomicLong(now << COUNT_BITS);
+    }
+
+    @Override
+    public boolean tryAcquire(long now) {
+        while (true) {
+            final long current = state.get();
+            final long opened = current >>> COUNT_BITS;
+            final long next;
+            if (now - opened >= window) {
+                next = (now << COUNT_BITS) | 1;
+            } else if ((current & COUNT_MASK) < limit) {
+                next = current + 1;
+            } else {
+                return false;
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
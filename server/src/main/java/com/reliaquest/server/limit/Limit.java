@@ -0,0 +1,13 @@
+package com.reliaquest.server.limit;
+
+/**
+ * Admission state for one client. Implementations pack all of it into a single {@code AtomicLong} and update it by
+ * compare-and-set, so admitting a request never locks or allocates.
+ */
+interface Limit {
+
+    /**
+     * Admits one request at {@code now}, in milliseconds on the limiter's clock, if the limit allows it.
+     */
+    boolean tryAcquire(long now);
+}
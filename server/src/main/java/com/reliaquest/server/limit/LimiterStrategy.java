@@ -0,0 +1,37 @@
+package com.reliaquest.server.limit;
+
+public enum LimiterStrategy {
+    FIXED_WINDOW(FixedWindowLimit.MAX_LIMIT) {
+        @Override
+        Limit create(int limit, long window, long now) {
+            return new FixedWindowLimit(limit, window, now);
+        }
+    },
+    SLIDING_WINDOW(SlidingWindowLimit.MAX_LIMIT) {
+        @Override
+        Limit create(int limit, long window, long now) {
+            return new SlidingWindowLimit(limit, window, now);
+        }
+    },
+    TOKEN_BUCKET(TokenBucketLimit.MAX_LIMIT) {
+        @Override
+        Limit create(int limit, long window, long now) {
+            return new TokenBucketLimit(limit, window, now);
+        }
+    };
+
+    private final int maxLimit;
+
+    LimiterStrategy(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Largest {@code limit} the packed state of this strategy can count to.
+     */
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    abstract Limit create(int limit, long window, long now);
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.limit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Admits or refuses requests per client key, with every key limited independently to the same {@code limit} per
+ * {@code window} under the configured {@link LimiterStrategy}.
+ * <p>
+ * Admission is lock-free and, once a key has been seen, allocation-free: a map lookup and a compare-and-set on the
+ * key's packed state. Time comes only from {@code clock}, so with a fake clock the same sequence of requests is
+ * always admitted or refused the same way. Past {@code maxKeys} distinct keys, new keys share one overflow limit so
+ * that a client cycling through keys can't grow the map without bound.
+ */
+public final class RequestLimiter {
+
+    private final LimiterStrategy strategy;
+    private final int limit;
+    private final long window;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final long origin;
+
+    private final ConcurrentHashMap<String, Limit> limits = new ConcurrentHashMap<>();
+    private final Limit overflow;
+
+    /**
+     * @param clock milliseconds from any fixed origin; must not go backwards
+     */
+    public RequestLimiter(
+            @NonNull LimiterStrategy strategy,
+            int limit,
+            @NonNull Duration window,
+            int maxKeys,
+            @NonNull LongSupplier clock) {
+        if (limit < 1 || limit > strategy.maxLimit()) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and %d for %s".formatted(strategy.maxLimit(), strategy));
+        }
+        if (window.toMillis() < 1) {
+            throw new IllegalArgumentException("Window must be at least 1ms");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Max keys must be positive");
+        }
+        this.strategy = strategy;
+        this.limit = limit;
+        this.window = window.toMillis();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        // Packed states hold unsigned times, so measure from the limiter's creation.
+        this.origin = clock.getAsLong();
+        this.overflow = strategy.create(limit, this.window, 0);
+    }
+
+    public LimiterStrategy strategy() {
+        return strategy;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public Duration window() {
+        return Duration.ofMillis(window);
+    }
+
+    public boolean tryAcquire(@NonNull String key) {
+        final long now = clock.getAsLong() - origin;
+        var state = limits.get(key);
+        if (state == null) {
+            state = register(key, now);
+        }
+        return state.tryAcquire(now);
+    }
+
+    private Limit register(String key, long now) {
+        if (limits.size() >= maxKeys) {
+            return overflow;
+        }
+        return limits.computeIfAbsent(key, ignored -> strategy.create(limit, window, now));
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.server.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * At most {@code limit} requests in any trailing window, estimated from the counts of the current and previous
+ * aligned windows: the previous count is weighted by how much of the previous window the trailing one still covers.
+ * This smooths out the double burst a fixed window allows around its boundary.
+ */
+final class SlidingWindowLimit implements Limit {
+
+    static final int MAX_LIMIT = (1 << 16) - 1;
+
+    private static final long COUNT_MASK = (1L << 16) - 1;
+    private static final long INDEX_MASK = (1L << 32) - 1;
+
+    private final int limit;
+    private final long window;
+
+    // Index of the current window (low 32 bits of it), then the previous and current window counts, 16 bits each.
+    private final AtomicLong state;
+
+    SlidingWindowLimit(int limit, long window, long now) {
+        this.limit = limit;
+        this.window = window;
+        this.state = new AtomicLong(((now / window) & INDEX_MASK) << 32);
+    }
+
+    @Override
+    public boolean tryAcquire(long now) {
+        long index = (now / window) & INDEX_MASK;
+        long intoWindow = now % window;
+        while (true) {
+            final long current = state.get();
+            final long stored = current >>> 32;
+            // Signed, so a caller whose clock read predates a concurrent rollover sees a negative gap.
+            final int gap = (int) (index - stored);
+            if (gap < 0) {
+                // Count it against the newer window, as early in it as possible, so it can only be under-admitted.
+                index = stored;
+                intoWindow = 0;
+                continue;
+            }
+            long previous = (current >>> 16) & COUNT_MASK;
+            long count = current & COUNT_MASK;
+            if (gap == 1) {
+                previous = count;
+                count = 0;
+            } else if (gap != 0) {
+                previous = 0;
+                count = 0;
+            }
+            // previous * (window - intoWindow) / window + count < limit, without dividing.
+            if (previous * (window - intoWindow) + count * window >= limit * window) {
+                return false;
+            }
+            final long next = (index << 32) | (previous << 16) | (count + 1);
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
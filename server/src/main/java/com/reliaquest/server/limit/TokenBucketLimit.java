@@ -0,0 +1,48 @@
+package com.reliaquest.server.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bucket of {@code limit} tokens, refilled continuously at {@code limit} per window, with one token per request.
+ * Allows bursts up to {@code limit} and a steady {@code limit / window} after that. Tokens are counted in
+ * thousandths so slow refill rates still add up between requests.
+ */
+final class TokenBucketLimit implements Limit {
+
+    static final int MAX_LIMIT = ((1 << 24) - 1) / 1000;
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final long capacity;
+    private final long window;
+
+    // When the bucket was last updated in the high bits, thousandths of a token left in it in the low bits.
+    private final AtomicLong state;
+
+    TokenBucketLimit(int limit, long window, long now) {
+        this.capacity = limit * ONE_TOKEN;
+        this.window = window;
+        this.state = new AtomicLong((now << TOKEN_BITS) | capacity);
+    }
+
+    @Override
+    public boolean tryAcquire(long now) {
+        while (true) {
+            final long current = state.get();
+            final long updated = current >>> TOKEN_BITS;
+            // A clock read that predates a concurrent update refills nothing and leaves the timestamp where it is.
+            final long elapsed = Math.max(0, now - updated);
+            final long refill = elapsed >= window ? capacity : elapsed * capacity / window;
+            final long tokens = Math.min(capacity, (current & TOKEN_MASK) + refill);
+            // A refused request leaves the state alone, so the refill keeps accruing from the last update.
+            if (tokens < ONE_TOKEN) {
+                return false;
+            }
+            if (state.compareAndSet(current, (Math.max(now, updated) << TOKEN_BITS) | (tokens - ONE_TOKEN))) {
+                return true;
+            }
+        }
+    }
+}
@@ -5,18 +5,25 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.Getter;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public record Response<T>(T data, Status status, String error) {
+public record Response<T>(T data, Status status, String error, String nextCursor) {
 
     public static <T> Response<T> handled() {
-        return new Response<>(null, Status.HANDLED, null);
+        return new Response<>(null, Status.HANDLED, null, null);
     }
 
     public static <T> Response<T> handledWith(T data) {
-        return new Response<>(data, Status.HANDLED, null);
+        return new Response<>(data, Status.HANDLED, null, null);
+    }
+
+    /**
+     * One page of a paginated listing; {@code nextCursor} is {@code null}, and so omitted, on the last page.
+     */
+    public static <T> Response<T> handledWith(T data, String nextCursor) {
+        return new Response<>(data, Status.HANDLED, null, nextCursor);
     }
 
     public static <T> Response<T> error(String error) {
-        return new Response<>(null, Status.ERROR, error);
+        return new Response<>(null, Status.ERROR, error, null);
     }
 
     public enum Status {
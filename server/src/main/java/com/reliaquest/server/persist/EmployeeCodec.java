@@ -0,0 +1,75 @@
+package com.reliaquest.server.persist;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary form of an employee shared by the snapshot and the write-ahead log: the id as two longs, a byte flagging
+ * which of the other fields are set, then those fields, strings as a length and UTF-8 bytes.
+ */
+final class EmployeeCodec {
+
+    private static final int NAME = 1;
+    private static final int SALARY = 1 << 1;
+    private static final int AGE = 1 << 2;
+    private static final int TITLE = 1 << 3;
+    private static final int EMAIL = 1 << 4;
+
+    private EmployeeCodec() {}
+
+    static void write(DataOutput out, MockEmployee employee) throws IOException {
+        writeId(out, employee.getId());
+        out.writeByte((employee.getName() != null ? NAME : 0)
+                | (employee.getSalary() != null ? SALARY : 0)
+                | (employee.getAge() != null ? AGE : 0)
+                | (employee.getTitle() != null ? TITLE : 0)
+                | (employee.getEmail() != null ? EMAIL : 0));
+        writeString(out, employee.getName());
+        if (employee.getSalary() != null) {
+            out.writeInt(employee.getSalary());
+        }
+        if (employee.getAge() != null) {
+            out.writeInt(employee.getAge());
+        }
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    static MockEmployee read(ByteBuffer in) {
+        final var id = readId(in);
+        final var present = in.get();
+        final var name = (present & NAME) != 0 ? readString(in) : null;
+        final var salary = (present & SALARY) != 0 ? Integer.valueOf(in.getInt()) : null;
+        final var age = (present & AGE) != 0 ? Integer.valueOf(in.getInt()) : null;
+        final var title = (present & TITLE) != 0 ? readString(in) : null;
+        final var email = (present & EMAIL) != 0 ? readString(in) : null;
+        return new MockEmployee(id, name, salary, age, title, email);
+    }
+
+    static void writeId(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readId(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value != null) {
+            final var bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        final var bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
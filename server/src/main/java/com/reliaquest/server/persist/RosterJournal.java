@@ -0,0 +1,161 @@
+package com.reliaquest.server.persist;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChange;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only write-ahead log of the store's changes since the last snapshot. Each record is its length, a type byte,
+ * the employee (created) or id (deleted), and a CRC32 of type and payload, so a record torn by a crash is detected
+ * and dropped on replay.
+ * <p>
+ * {@link #write} appends a batch of records and fsyncs once for all of them. A batch that fails part way is cut back
+ * off the end of the log, so nothing of it is replayed; if even that fails, the log refuses further writes.
+ */
+@Slf4j
+final class RosterJournal implements Closeable {
+
+    private static final int MAGIC = 0x4d4b574c; // MKWL
+    private static final int FORMAT = 1;
+    private static final int HEADER = 2 * Integer.BYTES;
+    private static final byte CREATED = 'C';
+    private static final byte DELETED = 'D';
+
+    private final FileChannel channel;
+
+    // Guarded by this.
+    private IOException failed;
+
+    private RosterJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Starts an empty log at {@code file}, replacing any previous one.
+     */
+    static RosterJournal create(Path file) throws IOException {
+        final var channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            channel.write(ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(FORMAT).flip());
+            channel.force(true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new RosterJournal(channel);
+    }
+
+    /**
+     * Applies the log at {@code file} to {@code employees}, keyed by id in insertion order. Replay stops at the first
+     * torn or corrupt record; everything before it was acknowledged as durable, nothing after it was.
+     *
+     * @return how many changes were applied
+     */
+    static int replay(Path file, Map<UUID, MockEmployee> employees) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Write-ahead log " + file + " is too large to map");
+            }
+            final var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER || mapped.getInt() != MAGIC || mapped.getInt() != FORMAT) {
+                throw new IOException("Not a roster write-ahead log: " + file);
+            }
+            int applied = 0;
+            while (mapped.remaining() >= Integer.BYTES) {
+                final var start = mapped.position();
+                final var length = mapped.getInt();
+                if (length < 1 || length > mapped.remaining() - Integer.BYTES) {
+                    log.warn("Write-ahead log {} ends with a torn record at offset {}", file, start);
+                    break;
+                }
+                final var record = mapped.slice(mapped.position(), length);
+                final var crc = new CRC32();
+                crc.update(record.duplicate());
+                mapped.position(mapped.position() + length);
+                if ((int) crc.getValue() != mapped.getInt()) {
+                    log.warn("Write-ahead log {} has a corrupt record at offset {}", file, start);
+                    break;
+                }
+                final var type = record.get();
+                if (type == CREATED) {
+                    final var employee = EmployeeCodec.read(record);
+                    employees.put(employee.getId(), employee);
+                } else if (type == DELETED) {
+                    employees.remove(EmployeeCodec.readId(record));
+                } else {
+                    throw new IOException("Unknown record type " + type + " at offset " + start + " of " + file);
+                }
+                applied++;
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Appends {@code changes} to the log, in order, and returns once they are on disk. If it throws, none of them
+     * are in the log.
+     */
+    synchronized void write(List<MockEmployeeChange> changes) throws IOException {
+        if (failed != null) {
+            throw new IOException("Write-ahead log is unusable after an earlier failure", failed);
+        }
+        final var start = channel.position();
+        try {
+            for (final var change : changes) {
+                final var record = encode(change);
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+                channel.force(false);
+            } catch (IOException truncation) {
+                e.addSuppressed(truncation);
+                failed = e;
+            }
+            throw e;
+        }
+    }
+
+    private static ByteBuffer encode(MockEmployeeChange change) throws IOException {
+        final var payload = new ByteArrayOutputStream(128);
+        final var out = new DataOutputStream(payload);
+        if (change.type() == MockEmployeeChange.Type.CREATED) {
+            out.writeByte(CREATED);
+            EmployeeCodec.write(out, change.employee());
+        } else {
+            out.writeByte(DELETED);
+            EmployeeCodec.writeId(out, change.employee().getId());
+        }
+        final var bytes = payload.toByteArray();
+        final var crc = new CRC32();
+        crc.update(bytes);
+        return ByteBuffer.allocate(bytes.length + 2 * Integer.BYTES)
+                .putInt(bytes.length)
+                .put(bytes)
+                .putInt((int) crc.getValue())
+                .flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
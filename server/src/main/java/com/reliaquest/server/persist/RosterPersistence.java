@@ -0,0 +1,108 @@
+package com.reliaquest.server.persist;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChange;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the roster across restarts in {@code directory}: a binary snapshot plus a write-ahead log of the changes
+ * made since.
+ * <p>
+ * On open, the snapshot is mapped and the log replayed over it into {@link #recovered()}. The store is then seeded
+ * with that roster, or a generated one on first start, and {@link #checkpoint} writes it out as the new snapshot
+ * and starts an empty log, so replay never covers more than one run's writes.
+ */
+@Slf4j
+public final class RosterPersistence implements Closeable {
+
+    private static final String SNAPSHOT = "roster.snapshot";
+    private static final String JOURNAL = "roster.wal";
+
+    private final Path directory;
+    private List<MockEmployee> recovered;
+    private RosterJournal journal;
+
+    private RosterPersistence(Path directory, List<MockEmployee> recovered) {
+        this.directory = directory;
+        this.recovered = recovered;
+    }
+
+    public static RosterPersistence open(@NonNull Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final var snapshot = directory.resolve(SNAPSHOT);
+        final var journal = directory.resolve(JOURNAL);
+        if (!Files.exists(snapshot)) {
+            return new RosterPersistence(directory, null);
+        }
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+        RosterSnapshotFile.read(snapshot).forEach(employee -> employees.put(employee.getId(), employee));
+        final var loaded = employees.size();
+        final var replayed = Files.exists(journal) ? RosterJournal.replay(journal, employees) : 0;
+        log.info(
+                "Recovered {} employees from {}: {} in the snapshot, {} changes replayed",
+                employees.size(),
+                directory,
+                loaded,
+                replayed);
+        return new RosterPersistence(directory, List.copyOf(employees.values()));
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * The roster as of the last acknowledged write of the previous run; empty when there was no previous run, and
+     * after the first checkpoint, so the recovered employees aren't kept alive alongside the store.
+     */
+    public synchronized Optional<List<MockEmployee>> recovered() {
+        return Optional.ofNullable(recovered);
+    }
+
+    /**
+     * Makes {@code employees} the persisted roster and starts logging changes on top of it.
+     */
+    public synchronized void checkpoint(@NonNull List<MockEmployee> employees) throws IOException {
+        RosterSnapshotFile.write(directory.resolve(SNAPSHOT), employees);
+        if (journal != null) {
+            journal.close();
+        }
+        journal = RosterJournal.create(directory.resolve(JOURNAL));
+        recovered = null;
+    }
+
+    /**
+     * Logs {@code changes} and returns once they are on disk; if it throws, none of them were logged.
+     */
+    public void write(@NonNull List<MockEmployeeChange> changes) {
+        try {
+            journal().write(changes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to the write-ahead log", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private synchronized RosterJournal journal() {
+        if (journal == null) {
+            throw new IllegalStateException("No checkpoint taken yet");
+        }
+        return journal;
+    }
+}
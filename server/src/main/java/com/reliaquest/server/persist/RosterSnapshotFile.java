@@ -0,0 +1,77 @@
+package com.reliaquest.server.persist;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The whole roster in one file: a header with the employee count, the employees in insertion order, and a CRC32 of
+ * everything before it. Read through a memory mapping; written to a temporary file that replaces the old snapshot
+ * only once it is on disk.
+ */
+final class RosterSnapshotFile {
+
+    private static final int MAGIC = 0x4d4b5253; // MKRS
+    private static final int FORMAT = 1;
+
+    private RosterSnapshotFile() {}
+
+    static List<MockEmployee> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " is too large to map");
+            }
+            final var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < 16 || mapped.getInt() != MAGIC || mapped.getInt() != FORMAT) {
+                throw new IOException("Not a roster snapshot: " + file);
+            }
+            final var crc = new CRC32();
+            crc.update(mapped.duplicate().position(0).limit(mapped.limit() - Integer.BYTES));
+            if ((int) crc.getValue() != mapped.getInt(mapped.limit() - Integer.BYTES)) {
+                throw new IOException("Roster snapshot " + file + " is corrupt");
+            }
+            final var count = mapped.getInt();
+            final var employees = new ArrayList<MockEmployee>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(EmployeeCodec.read(mapped));
+            }
+            return employees;
+        }
+    }
+
+    static void write(Path file, List<MockEmployee> employees) throws IOException {
+        final var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var crc = new CRC32();
+            final var out = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(employees.size());
+            for (final var employee : employees) {
+                EmployeeCodec.write(out, employee);
+            }
+            out.flush();
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, (int) crc.getValue()));
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The rename lives in the directory; sync it too, or a crash can bring back the previous snapshot.
+        try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.server.seed;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import net.datafaker.Faker;
+
+/**
+ * Generates large rosters quickly. Datafaker is only used up front, to draw pools of first names, last names and
+ * titles; employees are then put together from the pools by index, without expression resolution or reflection.
+ * <p>
+ * The roster is cut into partitions of {@code partitionSize} employees, generated in parallel. Each partition draws
+ * from its own generator, seeded from {@code seed} by partition number, so a seed always gives the same roster in the
+ * same order whatever the number of cores.
+ */
+public class ParallelRosterGenerator {
+
+    private static final int NAME_POOL_SIZE = 1024;
+    private static final int TITLE_POOL_SIZE = 512;
+
+    private final long seed;
+    private final int partitionSize;
+    private final List<String> firstNames;
+    private final List<String> lastNames;
+    private final List<String> titles;
+
+    public ParallelRosterGenerator(@NonNull Locale locale, long seed, int partitionSize) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("Partition size must be positive");
+        }
+        this.seed = seed;
+        this.partitionSize = partitionSize;
+        final var faker = new Faker(locale, new Random(seed));
+        this.firstNames = pool(() -> faker.name().firstName(), NAME_POOL_SIZE);
+        this.lastNames = pool(() -> faker.name().lastName(), NAME_POOL_SIZE);
+        this.titles = pool(() -> faker.job().title(), TITLE_POOL_SIZE);
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var partitions = (count + partitionSize - 1) / partitionSize;
+        final var seeds = new SplittableRandom(seed).longs(partitions).toArray();
+        return IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(partition -> partition(
+                        new SplittableRandom(seeds[partition]),
+                        Math.min(partitionSize, count - partition * partitionSize)))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private List<MockEmployee> partition(SplittableRandom random, int size) {
+        final var employees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            final var first = firstNames.get(random.nextInt(firstNames.size()));
+            final var last = lastNames.get(random.nextInt(lastNames.size()));
+            employees.add(new MockEmployee(
+                    uuid(random),
+                    first + " " + last,
+                    random.nextInt(30000, 500000),
+                    random.nextInt(16, 70),
+                    titles.get(random.nextInt(titles.size())),
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(handle(first, last, random.nextInt(1000)))));
+        }
+        return employees;
+    }
+
+    // Distinct values in draw order; fewer than size when the locale doesn't have that many.
+    private static List<String> pool(Supplier<String> draw, int size) {
+        final var values = new LinkedHashSet<String>();
+        for (int attempt = 0; attempt < size * 4 && values.size() < size; attempt++) {
+            values.add(draw.get());
+        }
+        return List.copyOf(values);
+    }
+
+    // A random (version 4) UUID drawn from the partition's generator rather than SecureRandom.
+    private static UUID uuid(SplittableRandom random) {
+        final var most = random.nextLong() & 0xffffffffffff0fffL | 0x0000000000004000L;
+        final var least = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static String handle(String first, String last, int suffix) {
+        final var handle = new StringBuilder(first.length() + last.length() + 4);
+        appendLetters(handle, first);
+        handle.append('.');
+        appendLetters(handle, last);
+        return handle.append(suffix).toString();
+    }
+
+    private static void appendLetters(StringBuilder target, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (Character.isLetter(c)) {
+                target.append(Character.toLowerCase(c));
+            }
+        }
+    }
+}
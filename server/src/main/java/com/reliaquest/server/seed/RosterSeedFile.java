@@ -0,0 +1,74 @@
+package com.reliaquest.server.seed;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Reads a precomputed roster: either a JSON array of employees or the roster envelope served by
+ * {@code GET /api/v1/employee}, so a generated roster can be saved with curl and loaded on the next start.
+ * <p>
+ * Employees are read field by field off the stream, never holding the whole document in memory. Every employee needs
+ * an id, and no id may appear twice.
+ */
+public final class RosterSeedFile {
+
+    private RosterSeedFile() {}
+
+    public static List<MockEmployee> read(@NonNull Path file, @NonNull JsonFactory jsonFactory) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(file.toFile())) {
+            var token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME && !"data".equals(parser.currentName())) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+                token = parser.nextToken();
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of employees in " + file);
+            }
+            final var employees = new ArrayList<MockEmployee>();
+            final var ids = new HashSet<UUID>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                final var employee = employee(parser);
+                if (!ids.add(employee.getId())) {
+                    throw new IOException(
+                            "Duplicate employee id " + employee.getId() + " at " + parser.currentLocation());
+                }
+                employees.add(employee);
+            }
+            return employees;
+        }
+    }
+
+    private static MockEmployee employee(JsonParser parser) throws IOException {
+        final var employee = MockEmployee.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> employee.id(UUID.fromString(parser.getText()));
+                case "employee_name" -> employee.name(parser.getText());
+                case "employee_salary" -> employee.salary(parser.getIntValue());
+                case "employee_age" -> employee.age(parser.getIntValue());
+                case "employee_title" -> employee.title(parser.getText());
+                case "employee_email" -> employee.email(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        final var built = employee.build();
+        if (built.getId() == null) {
+            throw new IOException("Employee without an id at " + parser.currentLocation());
+        }
+        return built;
+    }
+}
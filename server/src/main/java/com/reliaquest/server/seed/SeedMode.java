@@ -0,0 +1,11 @@
+package com.reliaquest.server.seed;
+
+/**
+ * How the mock roster is generated at startup when no seed file is given.
+ */
+public enum SeedMode {
+    /** One employee at a time through Datafaker; fine for a few thousand employees. */
+    DATAFAKER,
+    /** Across all cores from name pools drawn once, see {@link ParallelRosterGenerator}. */
+    PARALLEL
+}
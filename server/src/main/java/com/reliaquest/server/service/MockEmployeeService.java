@@ -1,14 +1,23 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChanges;
+import com.reliaquest.server.store.MockEmployeePage;
+import com.reliaquest.server.store.MockEmployeeSnapshot;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeWrite;
+import com.reliaquest.server.store.PageCursor;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +31,144 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final Validator validator;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.findAll();
+    }
+
+    public MockEmployeeSnapshot snapshot() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    public MockEmployeePage page(String cursor, int limit) {
+        return mockEmployeeStore.page(cursor == null ? null : PageCursor.decode(cursor), limit);
+    }
+
+    public long epoch() {
+        return mockEmployeeStore.epoch();
+    }
+
+    public long version() {
+        return mockEmployeeStore.version();
+    }
+
+    public Optional<MockEmployeeChanges> changesSince(long since, int limit) {
+        return mockEmployeeStore.changesSince(since, limit);
+    }
+
+    public void onChange(@NonNull Runnable listener) {
+        mockEmployeeStore.onChange(listener);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
-    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+    /**
+     * Creates an employee, returned with the roster version it went in at.
+     */
+    public MockEmployeeWrite<MockEmployee> create(@NonNull CreateMockEmployeeInput input) {
+        final var mockEmployee = newEmployee(input);
+        final var version = mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
-        return mockEmployee;
+        return new MockEmployeeWrite<>(mockEmployee, version);
+    }
+
+    /**
+     * Creates every valid input in one store write. Invalid inputs are reported in their slot and don't stop the rest.
+     * The results come with the roster version once the write is in.
+     */
+    public MockEmployeeWrite<List<BatchResult<MockEmployee>>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchResult<MockEmployee>>(inputs.size());
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (final var input : inputs) {
+            final var error = validate(input);
+            if (error.isPresent()) {
+                results.add(BatchResult.error(error.get()));
+            } else {
+                final var mockEmployee = newEmployee(input);
+                created.add(mockEmployee);
+                results.add(BatchResult.of(mockEmployee));
+            }
+        }
+        final var version = mockEmployeeStore.addAll(created);
+        log.debug("Added {} of {} employees in batch", created.size(), inputs.size());
+        return new MockEmployeeWrite<>(results, version);
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = mockEmployeeStore.removeById(uuid);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
+    /**
+     * Deletes every id in one store write, in request order. Each slot holds the removed employee, or an error if
+     * nobody had that id.
+     */
+    public List<BatchResult<MockEmployee>> deleteAllById(@NonNull List<UUID> uuids) {
+        final var ids = uuids.stream().filter(Objects::nonNull).toList();
+        final var removed = mockEmployeeStore.removeByIds(ids).iterator();
+        final var results = new ArrayList<BatchResult<MockEmployee>>(uuids.size());
+        for (final var uuid : uuids) {
+            results.add(uuid == null
+                    ? BatchResult.error("Missing item")
+                    : removed.next().map(BatchResult::of).orElseGet(() -> BatchResult.error("Employee not found")));
         }
+        log.debug("Removed employees for {} ids in batch", ids.size());
+        return results;
+    }
 
-        return false;
+    /**
+     * Deletes by name for every valid input in one store write, in request order. Each slot is {@code true} if an
+     * employee was removed for it.
+     */
+    public List<BatchResult<Boolean>> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var errors = inputs.stream().map(this::validate).toList();
+        final var names = new ArrayList<String>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            if (errors.get(i).isEmpty()) {
+                names.add(inputs.get(i).getName());
+            }
+        }
+        final var removed = mockEmployeeStore.removeFirstByNames(names).iterator();
+        final var results = new ArrayList<BatchResult<Boolean>>(inputs.size());
+        for (final var error : errors) {
+            results.add(error.isPresent()
+                    ? BatchResult.error(error.get())
+                    : BatchResult.of(removed.next().isPresent()));
+        }
+        log.debug("Removed employees for {} names in batch", names.size());
+        return results;
+    }
+
+    private MockEmployee newEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    private Optional<String> validate(Object input) {
+        if (input == null) {
+            return Optional.of("Missing item");
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
     }
 }
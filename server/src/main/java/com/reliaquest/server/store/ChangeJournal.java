@@ -0,0 +1,19 @@
+package com.reliaquest.server.store;
+
+import java.util.List;
+
+/**
+ * Where the store logs its changes before applying them.
+ */
+@FunctionalInterface
+public interface ChangeJournal {
+
+    ChangeJournal NONE = changes -> {};
+
+    /**
+     * Logs {@code changes}, in order, and returns once they are durable. Called by one writer at a time, without the
+     * store locked, with every write queued since the last call, so changes arrive in version order and a single
+     * sync covers them all. If it throws, none of the changes may be replayed later.
+     */
+    void write(List<MockEmployeeChange> changes);
+}
@@ -0,0 +1,533 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Employees as rows of primitive columns rather than objects, for rosters of millions. A {@link MockEmployee} is only
+ * built when a row is read, typically while it is being serialized, and is garbage right after.
+ * <p>
+ * Rows are appended to chunks of {@value #CHUNK_ROWS}. Each chunk holds its columns in one buffer, on or off the
+ * heap: the id as two longs, salary and age as ints, the title as a code into a dictionary shared by all chunks,
+ * and name and email as references into the chunk's pool of UTF-8 bytes. Row {@code n} has sequence number
+ * {@code n + 1}. Rows are never changed or reused; deleting one sets its bit in the chunk's tombstones, so a list of
+ * rows taken earlier keeps reading the same employees.
+ * <p>
+ * A write fills the row first and publishes it last, through the volatile row count and the id index's volatile
+ * slots, so a lock-free reader that can see a row also sees all of it.
+ */
+class ColumnarEmployeeTable implements EmployeeTable {
+
+    static final int CHUNK_ROWS = 1 << 14;
+    private static final int CHUNK_SHIFT = 14;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_STRING = -1;
+
+    private final boolean offHeap;
+    private final IdIndex ids = new IdIndex();
+
+    // Written only while the store is locked.
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int rows;
+    private volatile int size;
+    private volatile String[] titles = new String[64];
+    private int titleCount;
+
+    // Only read and written while the store is locked.
+    private final Map<String, Integer> titleCodes = new HashMap<>();
+    private final NameIndex names = new NameIndex();
+
+    ColumnarEmployeeTable(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public long insert(MockEmployee employee) {
+        final var row = rows;
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Columnar table is full");
+        }
+        if ((row & (CHUNK_ROWS - 1)) == 0) {
+            final var grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = new Chunk(offHeap);
+            chunks = grown;
+        }
+        final var chunk = chunks[row >>> CHUNK_SHIFT];
+        final var slot = row & (CHUNK_ROWS - 1);
+        chunk.write(slot, employee, titleCode(employee.getTitle()));
+        if (employee.getName() != null) {
+            final var previous = names.append(EmployeeTable.fold(employee.getName()).hashCode(), row);
+            if (previous >= 0) {
+                chunk(previous).nextNamed(previous & (CHUNK_ROWS - 1), row);
+            }
+        }
+        ids.put(employee.getId().getMostSignificantBits(), employee.getId().getLeastSignificantBits(), row);
+        size = size + 1;
+        rows = row + 1;
+        return row + 1L;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        final var row = ids.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return row < 0 || deleted(row) ? Optional.empty() : Optional.of(read(row));
+    }
+
+    @Override
+    public Optional<MockEmployee> remove(UUID id) {
+        final var row = ids.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (row < 0 || deleted(row)) {
+            return Optional.empty();
+        }
+        chunk(row).delete(row & (CHUNK_ROWS - 1));
+        size = size - 1;
+        return Optional.of(read(row));
+    }
+
+    @Override
+    public Optional<UUID> firstIdNamed(String foldedName, Set<UUID> excluded) {
+        final var hash = foldedName.hashCode();
+        var row = names.head(hash);
+        // Drop deleted rows off the front of the chain as we go, so deleting by name in insertion order stays cheap.
+        while (row >= 0 && deleted(row)) {
+            row = chunk(row).nextNamed(row & (CHUNK_ROWS - 1));
+            names.advanceHead(hash, row);
+        }
+        for (; row >= 0; row = chunk(row).nextNamed(row & (CHUNK_ROWS - 1))) {
+            final var chunk = chunk(row);
+            final var slot = row & (CHUNK_ROWS - 1);
+            // Rows in a chain share the hash of their folded name, not necessarily the name.
+            if (!chunk.deleted(slot) && foldedName.equals(EmployeeTable.fold(chunk.name(slot)))) {
+                final var id = chunk.id(slot);
+                if (!excluded.contains(id)) {
+                    return Optional.of(id);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Slice after(long afterSequence, int limit) {
+        final var published = rows;
+        final var employees = new ArrayList<MockEmployee>(limit);
+        long last = afterSequence;
+        // Sequence numbers are row numbers plus one, so the row after sequence s is row s.
+        for (long row = Math.max(afterSequence, 0); row < published; row++) {
+            if (deleted((int) row)) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                return new Slice(employees, last, true);
+            }
+            employees.add(read((int) row));
+            last = row + 1;
+        }
+        return new Slice(employees, last, false);
+    }
+
+    @Override
+    public List<MockEmployee> list() {
+        final var live = new int[size];
+        final var published = rows;
+        int count = 0;
+        for (int row = 0; row < published; row++) {
+            if (!deleted(row)) {
+                live[count++] = row;
+            }
+        }
+        return new RowList(live);
+    }
+
+    @Override
+    public List<MockEmployee> list(List<MockEmployee> previous, List<MockEmployeeChange> changes) {
+        // Rows are never reused and stay indexed once deleted, so a change still finds its row long after.
+        final var removed = new HashSet<Integer>();
+        final var created = new LinkedHashSet<Integer>();
+        for (final var change : changes) {
+            final var id = change.employee().getId();
+            final var row = ids.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (change.type() == MockEmployeeChange.Type.CREATED) {
+                created.add(row);
+            } else if (!created.remove(row)) {
+                removed.add(row);
+            }
+        }
+        final var taken = ((RowList) previous).rows;
+        final var dropped = removed.stream().mapToInt(Integer::intValue).sorted().toArray();
+        final var live = new int[taken.length - dropped.length + created.size()];
+        int count = 0;
+        int next = 0;
+        // Both are in row order, so the removed rows are skipped in one pass.
+        for (final var row : taken) {
+            while (next < dropped.length && dropped[next] < row) {
+                next++;
+            }
+            if (next == dropped.length || dropped[next] != row) {
+                live[count++] = row;
+            }
+        }
+        for (final int row : created) {
+            live[count++] = row;
+        }
+        return new RowList(live);
+    }
+
+    private int titleCode(String title) {
+        if (title == null) {
+            return NULL_INT;
+        }
+        final var known = titleCodes.get(title);
+        if (known != null) {
+            return known;
+        }
+        if (titleCount == titles.length) {
+            titles = Arrays.copyOf(titles, titleCount * 2);
+        }
+        final var code = titleCount++;
+        titles[code] = title;
+        titleCodes.put(title, code);
+        return code;
+    }
+
+    private boolean deleted(int row) {
+        return chunk(row).deleted(row & (CHUNK_ROWS - 1));
+    }
+
+    private Chunk chunk(int row) {
+        return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    private MockEmployee read(int row) {
+        final var chunk = chunk(row);
+        final var slot = row & (CHUNK_ROWS - 1);
+        final var title = chunk.title(slot);
+        return new MockEmployee(
+                chunk.id(slot),
+                chunk.name(slot),
+                chunk.salary(slot),
+                chunk.age(slot),
+                title == NULL_INT ? null : titles[title],
+                chunk.email(slot));
+    }
+
+    /**
+     * The rows live when it was taken; employees are built on each {@link #get}.
+     */
+    private final class RowList extends AbstractList<MockEmployee> implements RandomAccess {
+
+        private final int[] rows;
+
+        RowList(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            return read(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    private static final class Chunk {
+
+        // Offsets of the columns within the buffer.
+        private static final int ID_HIGH = 0;
+        private static final int ID_LOW = ID_HIGH + Long.BYTES * CHUNK_ROWS;
+        private static final int SALARY = ID_LOW + Long.BYTES * CHUNK_ROWS;
+        private static final int AGE = SALARY + Integer.BYTES * CHUNK_ROWS;
+        private static final int TITLE = AGE + Integer.BYTES * CHUNK_ROWS;
+        // Offset in the string pool in the high half, length in the low half.
+        private static final int NAME = TITLE + Integer.BYTES * CHUNK_ROWS;
+        private static final int EMAIL = NAME + Long.BYTES * CHUNK_ROWS;
+        // Next row whose folded name has the same hash, or -1.
+        private static final int NEXT_NAMED = EMAIL + Long.BYTES * CHUNK_ROWS;
+        private static final int WIDTH = NEXT_NAMED + Integer.BYTES * CHUNK_ROWS;
+
+        private final boolean offHeap;
+        private final ByteBuffer columns;
+        private final AtomicLongArray tombstones = new AtomicLongArray(CHUNK_ROWS / Long.SIZE);
+        private volatile ByteBuffer strings;
+        private int stringsUsed;
+
+        Chunk(boolean offHeap) {
+            this.offHeap = offHeap;
+            this.columns = allocate(WIDTH);
+            this.strings = allocate(1 << 16);
+        }
+
+        void write(int slot, MockEmployee employee, int title) {
+            columns.putLong(ID_HIGH + slot * Long.BYTES, employee.getId().getMostSignificantBits());
+            columns.putLong(ID_LOW + slot * Long.BYTES, employee.getId().getLeastSignificantBits());
+            columns.putInt(SALARY + slot * Integer.BYTES, orNull(employee.getSalary()));
+            columns.putInt(AGE + slot * Integer.BYTES, orNull(employee.getAge()));
+            columns.putInt(TITLE + slot * Integer.BYTES, title);
+            columns.putLong(NAME + slot * Long.BYTES, pool(employee.getName()));
+            columns.putLong(EMAIL + slot * Long.BYTES, pool(employee.getEmail()));
+            columns.putInt(NEXT_NAMED + slot * Integer.BYTES, -1);
+        }
+
+        UUID id(int slot) {
+            return new UUID(columns.getLong(ID_HIGH + slot * Long.BYTES), columns.getLong(ID_LOW + slot * Long.BYTES));
+        }
+
+        Integer salary(int slot) {
+            final var salary = columns.getInt(SALARY + slot * Integer.BYTES);
+            return salary == NULL_INT ? null : salary;
+        }
+
+        Integer age(int slot) {
+            final var age = columns.getInt(AGE + slot * Integer.BYTES);
+            return age == NULL_INT ? null : age;
+        }
+
+        int title(int slot) {
+            return columns.getInt(TITLE + slot * Integer.BYTES);
+        }
+
+        String name(int slot) {
+            return string(columns.getLong(NAME + slot * Long.BYTES));
+        }
+
+        String email(int slot) {
+            return string(columns.getLong(EMAIL + slot * Long.BYTES));
+        }
+
+        int nextNamed(int slot) {
+            return columns.getInt(NEXT_NAMED + slot * Integer.BYTES);
+        }
+
+        void nextNamed(int slot, int row) {
+            columns.putInt(NEXT_NAMED + slot * Integer.BYTES, row);
+        }
+
+        boolean deleted(int slot) {
+            return (tombstones.get(slot >>> 6) & (1L << slot)) != 0;
+        }
+
+        void delete(int slot) {
+            tombstones.set(slot >>> 6, tombstones.get(slot >>> 6) | (1L << slot));
+        }
+
+        private long pool(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            final var bytes = value.getBytes(StandardCharsets.UTF_8);
+            var pool = strings;
+            if (pool.capacity() - stringsUsed < bytes.length) {
+                final var grown = allocate(Math.max(pool.capacity() * 2, stringsUsed + bytes.length));
+                grown.put(0, pool, 0, stringsUsed);
+                // Readers holding the old pool still find every row published before this one in it.
+                strings = grown;
+                pool = grown;
+            }
+            pool.put(stringsUsed, bytes);
+            final long reference = (long) stringsUsed << 32 | bytes.length;
+            stringsUsed += bytes.length;
+            return reference;
+        }
+
+        private String string(long reference) {
+            if (reference == NULL_STRING) {
+                return null;
+            }
+            final var bytes = new byte[(int) reference];
+            strings.get((int) (reference >>> 32), bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private ByteBuffer allocate(int capacity) {
+            return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+
+        private static int orNull(Integer value) {
+            return value == null ? NULL_INT : value;
+        }
+    }
+
+    /**
+     * Open-addressing hash index from id to row, read without locking. A slot's key is written before its row, and
+     * a slot never changes key once taken, so a reader that sees a row also sees the key it belongs to. Deleted rows
+     * stay indexed and are filtered out by their tombstone.
+     */
+    private static final class IdIndex {
+
+        private volatile Slots slots = new Slots(1 << 10);
+        private int used;
+
+        int get(long high, long low) {
+            final var current = slots;
+            for (int i = mix(high, low) & current.mask; ; i = (i + 1) & current.mask) {
+                final var row = current.rows.get(i);
+                if (row == 0) {
+                    return -1;
+                }
+                if (current.high[i] == high && current.low[i] == low) {
+                    return row - 1;
+                }
+            }
+        }
+
+        void put(long high, long low, int row) {
+            if ((used + 1) * 4L > slots.high.length * 3L) {
+                final var grown = new Slots(slots.high.length * 2);
+                final var current = slots;
+                for (int i = 0; i < current.high.length; i++) {
+                    final var existing = current.rows.get(i);
+                    if (existing != 0) {
+                        grown.put(current.high[i], current.low[i], existing);
+                    }
+                }
+                slots = grown;
+            }
+            if (slots.put(high, low, row + 1)) {
+                used++;
+            }
+        }
+
+        private static int mix(long high, long low) {
+            var h = high ^ low;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+
+        private static final class Slots {
+
+            private final int mask;
+            private final long[] high;
+            private final long[] low;
+            // Row plus one; 0 marks a free slot.
+            private final AtomicIntegerArray rows;
+
+            Slots(int capacity) {
+                this.mask = capacity - 1;
+                this.high = new long[capacity];
+                this.low = new long[capacity];
+                this.rows = new AtomicIntegerArray(capacity);
+            }
+
+            // Whether a free slot was taken; an id inserted again points at its latest row, like a map would.
+            boolean put(long high, long low, int row) {
+                for (int i = mix(high, low) & mask; ; i = (i + 1) & mask) {
+                    final var existing = rows.get(i);
+                    if (existing == 0) {
+                        this.high[i] = high;
+                        this.low[i] = low;
+                        rows.set(i, row);
+                        return true;
+                    }
+                    if (this.high[i] == high && this.low[i] == low) {
+                        rows.set(i, row);
+                        return false;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Open-addressing hash from the hash of a folded name to the first and last row of the chain of rows with that
+     * hash. Only used while the store is locked.
+     */
+    private static final class NameIndex {
+
+        private int[] hashes = new int[1 << 10];
+        private int[] heads = new int[1 << 10];
+        private int[] tails = new int[1 << 10];
+        private boolean[] taken = new boolean[1 << 10];
+        private int used;
+
+        int head(int hash) {
+            final var i = find(hash);
+            return taken[i] ? heads[i] : -1;
+        }
+
+        void advanceHead(int hash, int row) {
+            final var i = find(hash);
+            heads[i] = row;
+            if (row < 0) {
+                tails[i] = -1;
+            }
+        }
+
+        /**
+         * Adds {@code row} to the end of its chain and returns the row it follows, or -1.
+         */
+        int append(int hash, int row) {
+            if ((used + 1) * 4L > hashes.length * 3L) {
+                grow();
+            }
+            final var i = find(hash);
+            if (!taken[i]) {
+                taken[i] = true;
+                hashes[i] = hash;
+                heads[i] = -1;
+                tails[i] = -1;
+                used++;
+            }
+            final var previous = tails[i];
+            if (previous < 0) {
+                heads[i] = row;
+            }
+            tails[i] = row;
+            return previous;
+        }
+
+        private int find(int hash) {
+            final var mask = hashes.length - 1;
+            var i = (hash ^ hash >>> 16) & mask;
+            while (taken[i] && hashes[i] != hash) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            final var oldHashes = hashes;
+            final var oldHeads = heads;
+            final var oldTails = tails;
+            final var oldTaken = taken;
+            hashes = new int[oldHashes.length * 2];
+            heads = new int[oldHashes.length * 2];
+            tails = new int[oldHashes.length * 2];
+            taken = new boolean[oldHashes.length * 2];
+            for (int j = 0; j < oldHashes.length; j++) {
+                if (oldTaken[j]) {
+                    final var i = find(oldHashes[j]);
+                    taken[i] = true;
+                    hashes[i] = oldHashes[j];
+                    heads[i] = oldHeads[j];
+                    tails[i] = oldTails[j];
+                }
+            }
+        }
+    }
+}
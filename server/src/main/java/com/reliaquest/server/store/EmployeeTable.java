@@ -0,0 +1,65 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The store's rows in insertion order, with the indexes by id and by name over them. Writes only come from the store
+ * while it is locked. Reads marked lock-free may run during a write and see the table as it was before or after it.
+ */
+interface EmployeeTable {
+
+    /**
+     * Appends {@code employee} and returns its sequence number, one more than the previous one.
+     */
+    long insert(MockEmployee employee);
+
+    /**
+     * Lock-free.
+     */
+    Optional<MockEmployee> findById(UUID id);
+
+    Optional<MockEmployee> remove(UUID id);
+
+    /**
+     * The id of the earliest inserted employee whose {@linkplain #fold folded} name is {@code foldedName}, passing
+     * over the ids in {@code excluded}.
+     */
+    Optional<UUID> firstIdNamed(String foldedName, Set<UUID> excluded);
+
+    /**
+     * Lock-free.
+     */
+    int size();
+
+    /**
+     * Up to {@code limit} employees inserted after {@code afterSequence}, in order. Lock-free.
+     */
+    Slice after(long afterSequence, int limit);
+
+    /**
+     * Every employee in insertion order, as a list no later write changes.
+     */
+    List<MockEmployee> list();
+
+    /**
+     * {@code previous}, a list this table returned, with {@code changes} made since it was taken: the employees they
+     * delete dropped and the ones they create appended, in order. Lock-free, and costs the same however long ago the
+     * changes were applied.
+     */
+    List<MockEmployee> list(List<MockEmployee> previous, List<MockEmployeeChange> changes);
+
+    /**
+     * @param lastSequence sequence number of the last employee in the slice
+     * @param more         whether any employee was inserted after it
+     */
+    record Slice(List<MockEmployee> employees, long lastSequence, boolean more) {}
+
+    static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Employees as objects in a skip list keyed by sequence number, with a hash index by id.
+ */
+class HeapEmployeeTable implements EmployeeTable {
+
+    private final ConcurrentSkipListMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, Long> sequenceById = new ConcurrentHashMap<>();
+    private long sequence;
+
+    // Only read and written while the store is locked; ids are kept in insertion order.
+    private final Map<String, LinkedHashSet<UUID>> idsByName = new HashMap<>();
+
+    @Override
+    public long insert(MockEmployee employee) {
+        final var seq = ++sequence;
+        // Publish to the ordered map before the id index so a reader that finds the id also finds the employee.
+        bySequence.put(seq, employee);
+        sequenceById.put(employee.getId(), seq);
+        if (employee.getName() != null) {
+            idsByName
+                    .computeIfAbsent(EmployeeTable.fold(employee.getName()), ignored -> new LinkedHashSet<>())
+                    .add(employee.getId());
+        }
+        return seq;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        final var seq = sequenceById.get(id);
+        return seq == null ? Optional.empty() : Optional.ofNullable(bySequence.get(seq));
+    }
+
+    @Override
+    public Optional<MockEmployee> remove(UUID id) {
+        // The reverse of insert: unpublish the id before the employee.
+        final var seq = sequenceById.remove(id);
+        if (seq == null) {
+            return Optional.empty();
+        }
+        final var removed = bySequence.remove(seq);
+        if (removed.getName() != null) {
+            final var folded = EmployeeTable.fold(removed.getName());
+            final var ids = idsByName.get(folded);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByName.remove(folded);
+            }
+        }
+        return Optional.of(removed);
+    }
+
+    @Override
+    public Optional<UUID> firstIdNamed(String foldedName, Set<UUID> excluded) {
+        final var ids = idsByName.get(foldedName);
+        if (ids == null) {
+            return Optional.empty();
+        }
+        return ids.stream().filter(id -> !excluded.contains(id)).findFirst();
+    }
+
+    @Override
+    public int size() {
+        return sequenceById.size();
+    }
+
+    @Override
+    public Slice after(long afterSequence, int limit) {
+        final var employees = new ArrayList<MockEmployee>(limit);
+        long last = afterSequence;
+        for (final var entry : bySequence.tailMap(afterSequence, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new Slice(employees, last, true);
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Slice(employees, last, false);
+    }
+
+    @Override
+    public List<MockEmployee> list() {
+        return List.copyOf(bySequence.values());
+    }
+
+    @Override
+    public List<MockEmployee> list(List<MockEmployee> previous, List<MockEmployeeChange> changes) {
+        final var removed = new HashSet<UUID>();
+        final var created = new LinkedHashMap<UUID, MockEmployee>();
+        for (final var change : changes) {
+            final var id = change.employee().getId();
+            if (change.type() == MockEmployeeChange.Type.CREATED) {
+                created.put(id, change.employee());
+            } else if (created.remove(id) == null) {
+                removed.add(id);
+            }
+        }
+        return Stream.concat(
+                        previous.stream().filter(employee -> !removed.contains(employee.getId())),
+                        created.values().stream())
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * One write to the store. {@code sequence} is the store version the write produced, so applying every change after
+ * a snapshot's version, in order, brings the snapshot up to date.
+ */
+public record MockEmployeeChange(long sequence, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
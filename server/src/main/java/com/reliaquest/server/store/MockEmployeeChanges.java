@@ -0,0 +1,14 @@
+package com.reliaquest.server.store;
+
+import java.util.List;
+
+/**
+ * Changes after a given sequence number, oldest first. {@code latest} is the store version when they were read; if
+ * the last change is older than that, more can be fetched from there.
+ */
+public record MockEmployeeChanges(long epoch, long latest, List<MockEmployeeChange> changes) {
+
+    public MockEmployeeChanges {
+        changes = List.copyOf(changes);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * One page of employees in insertion order. {@code next} is {@code null} on the last page.
+ */
+public record MockEmployeePage(List<MockEmployee> employees, PageCursor next) {
+
+    public MockEmployeePage {
+        employees = List.copyOf(employees);
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable view of the store as of {@code version}. {@code epoch} changes on every start so versions from
+ * different runs never compare equal. {@code employees} is never modified, but depending on the store's
+ * {@link StorageEngine} it may build each employee as it is read.
+ * <p>
+ * Publishing a snapshot doesn't copy the roster: the store hands over the changes applied since the previous one,
+ * and the list is built from the previous snapshot's list and those changes on the first call to
+ * {@link #employees()}, then kept. Snapshots nobody read are skipped over: the build starts from the latest snapshot
+ * that has a list and replays every change since in one pass.
+ */
+public final class MockEmployeeSnapshot {
+
+    private final long epoch;
+    private final long version;
+    private final EmployeeTable table;
+    // Changes since the latest ancestor with a list, when this snapshot was published.
+    private final long unbuiltChanges;
+
+    // Set once built; previous and changes are cleared after it, so whoever finds them cleared finds the list.
+    private volatile List<MockEmployee> employees;
+    private volatile MockEmployeeSnapshot previous;
+    private volatile List<MockEmployeeChange> changes;
+
+    MockEmployeeSnapshot(long epoch, long version, EmployeeTable table, List<MockEmployee> employees) {
+        this.epoch = epoch;
+        this.version = version;
+        this.table = table;
+        this.unbuiltChanges = 0;
+        this.employees = employees;
+    }
+
+    private MockEmployeeSnapshot(MockEmployeeSnapshot previous, long version, List<MockEmployeeChange> changes) {
+        this.epoch = previous.epoch;
+        this.version = version;
+        this.table = previous.table;
+        this.unbuiltChanges = (previous.employees == null ? previous.unbuiltChanges : 0) + changes.size();
+        this.previous = previous;
+        this.changes = changes;
+    }
+
+    /**
+     * The snapshot at {@code version}, {@code changes} after this one. O(1); its list is built when first read.
+     */
+    MockEmployeeSnapshot next(long version, List<MockEmployeeChange> changes) {
+        return new MockEmployeeSnapshot(this, version, changes);
+    }
+
+    /**
+     * How many changes building the list would replay, as of when this snapshot was published.
+     */
+    long unbuiltChanges() {
+        return unbuiltChanges;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Every employee in insertion order. The first call builds the list, in time linear in the roster and the changes
+     * since the latest snapshot read; it never waits for the store, only for another reader building this one.
+     */
+    public List<MockEmployee> employees() {
+        final var built = employees;
+        return built != null ? built : build();
+    }
+
+    public String etag() {
+        return etag(epoch, version);
+    }
+
+    static String etag(long epoch, long version) {
+        return "\"%x-%d\"".formatted(epoch, version);
+    }
+
+    private synchronized List<MockEmployee> build() {
+        if (employees != null) {
+            return employees;
+        }
+        final var deltas = new ArrayDeque<List<MockEmployeeChange>>();
+        var at = this;
+        List<MockEmployee> list = null;
+        while (list == null) {
+            final var from = at.previous;
+            final var delta = at.changes;
+            if (from == null || delta == null) {
+                // Built by another reader since we looked.
+                list = at.employees;
+            } else {
+                deltas.push(delta);
+                at = from;
+                list = at.employees;
+            }
+        }
+        final var replayed = new ArrayList<MockEmployeeChange>();
+        deltas.forEach(replayed::addAll);
+        final var built = table.list(list, replayed);
+        employees = built;
+        previous = null;
+        changes = null;
+        return built;
+    }
+}
@@ -0,0 +1,389 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.exception.BadRequestException;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory employee store, safe for concurrent use.
+ * <p>
+ * Employees are kept in insertion order, keyed by a sequence number, with a hash index by id and a case-insensitive
+ * name index, in an {@link EmployeeTable} chosen by the {@link StorageEngine}. Lookups by id never lock. Writes are
+ * serialized so the indexes always agree with each other. Deleting by name removes the earliest inserted match, like
+ * the list this replaces did; deleting by id is O(1).
+ * <p>
+ * Every write bumps the store version. Listing goes through {@link #snapshot()}, an immutable list for the current
+ * version. The writer publishes it with each group of writes it applies, so a read never waits for a writer or the
+ * journal and never sees a list change under it. Publishing doesn't copy the roster: the snapshot is built from the
+ * previous one and the group's changes when first read. Once the changes nobody has read outnumber the employees,
+ * the writer builds it itself, so a write costs O(1) amortized whatever the size of the roster.
+ * <p>
+ * Each write after the seed is also appended to a change log keyed by the version it produced. The log keeps the
+ * latest {@code changeRetention} changes; older ones are dropped and readers asking for them are told to reload.
+ * <p>
+ * Every write is planned first, then written to the {@code journal}, and only applied once the journal has it: a
+ * write nobody can read back after a restart is never visible to readers or the change log, and a journal failure
+ * leaves the store as it was. Planning is done under the store lock: it reserves the write's versions and queues it.
+ * The journal is written without the lock, by whichever waiting writer gets there first, for every write queued by
+ * then, so writers arriving during a sync share the next one. The writes are then applied in version order.
+ */
+@Slf4j
+public class MockEmployeeStore {
+
+    private final long epoch = System.currentTimeMillis();
+    private final EmployeeTable table;
+
+    private final ConcurrentSkipListMap<Long, MockEmployeeChange> changes = new ConcurrentSkipListMap<>();
+    private final int changeRetention;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private final ChangeJournal journal;
+    // Held by the writer syncing the journal for everything queued.
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    // Only read and written while holding the monitor. Versions up to reserved have been handed out to planned
+    // writes; queued holds the ones not yet sent to the journal, and deleting the ids removed by any not yet applied.
+    private long reserved;
+    private final ArrayDeque<PendingWrite> queued = new ArrayDeque<>();
+    private final Set<UUID> deleting = new HashSet<>();
+
+    // Written only while holding the monitor.
+    private volatile long version;
+    private volatile MockEmployeeSnapshot published;
+    // Changes up to and including this version are no longer in the log.
+    private volatile long changeFloor;
+
+    public MockEmployeeStore(@NonNull List<MockEmployee> seed, int changeRetention) {
+        this(seed, changeRetention, StorageEngine.HEAP, ChangeJournal.NONE);
+    }
+
+    public MockEmployeeStore(
+            @NonNull List<MockEmployee> seed,
+            int changeRetention,
+            @NonNull StorageEngine storage,
+            @NonNull ChangeJournal journal) {
+        if (changeRetention < 1) {
+            throw new IllegalArgumentException("Change retention must be positive");
+        }
+        this.changeRetention = changeRetention;
+        this.journal = journal;
+        this.table = storage.newTable();
+        seed.forEach(this::insert);
+        reserved = version;
+        changeFloor = version;
+        published = new MockEmployeeSnapshot(epoch, version, table, table.list());
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Sequence number of the latest write, without building a snapshot.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Every employee in insertion order, as of the latest group of writes. Never takes the store lock.
+     */
+    public MockEmployeeSnapshot snapshot() {
+        return published;
+    }
+
+    /**
+     * ETag of the current snapshot.
+     */
+    public String etag() {
+        return published.etag();
+    }
+
+    public List<MockEmployee> findAll() {
+        return snapshot().employees();
+    }
+
+    /**
+     * Up to {@code limit} employees inserted after {@code after}, or from the start when it is {@code null}. Reads
+     * the live store without locking, so a page reflects writes up to the moment each entry is read.
+     */
+    public MockEmployeePage page(PageCursor after, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Page limit must be positive");
+        }
+        if (after != null && after.epoch() != epoch) {
+            throw new BadRequestException("Cursor is from a previous run of the server");
+        }
+        final var slice = table.after(after == null ? 0 : after.afterSequence(), limit);
+        return new MockEmployeePage(
+                slice.employees(), slice.more() ? new PageCursor(epoch, slice.lastSequence()) : null);
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return table.findById(id);
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Up to {@code limit} changes after version {@code since}, or empty if some of them have already been dropped
+     * from the log, in which case the caller has to start over from a snapshot.
+     */
+    public Optional<MockEmployeeChanges> changesSince(long since, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Change limit must be positive");
+        }
+        final var found = new ArrayList<MockEmployeeChange>(Math.min(limit, changeRetention));
+        for (final var change : changes.tailMap(since, false).values()) {
+            if (found.size() == limit) {
+                break;
+            }
+            found.add(change);
+        }
+        // Checked after reading: the floor is raised before a change is dropped, so a change trimmed while we were
+        // reading always shows up here.
+        if (since < changeFloor) {
+            return Optional.empty();
+        }
+        return Optional.of(new MockEmployeeChanges(epoch, version, found));
+    }
+
+    /**
+     * Runs {@code listener} once after every group of writes applied together, on a writing thread and while the
+     * store is locked. Listeners must hand off any real work.
+     */
+    public void onChange(@NonNull Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Adds {@code mockEmployee} and returns the version it went in at.
+     */
+    public long add(@NonNull MockEmployee mockEmployee) {
+        return addAll(List.of(mockEmployee));
+    }
+
+    /**
+     * Adds every employee in order, in one write. Each one is still its own version and its own change. Returns the
+     * version of the last one: a change log reader at that version or later has seen them all. With no employees,
+     * returns the current version.
+     */
+    public long addAll(@NonNull List<MockEmployee> mockEmployees) {
+        final PendingWrite write;
+        synchronized (this) {
+            final var planned = new ArrayList<MockEmployeeChange>(mockEmployees.size());
+            for (final var mockEmployee : mockEmployees) {
+                planned.add(new MockEmployeeChange(
+                        reserved + planned.size() + 1, MockEmployeeChange.Type.CREATED, mockEmployee));
+            }
+            write = enqueue(planned);
+        }
+        return commit(write);
+    }
+
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        return removeFirstByNames(List.of(name)).get(0);
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        return removeByIds(List.of(id)).get(0);
+    }
+
+    /**
+     * {@link #removeById} for each id in order, in one write. An employee another write is already removing, or one
+     * whose creation is still waiting for the journal, is not found.
+     */
+    public List<Optional<MockEmployee>> removeByIds(@NonNull List<UUID> ids) {
+        final var removed = new ArrayList<Optional<MockEmployee>>(ids.size());
+        final PendingWrite write;
+        synchronized (this) {
+            for (final var id : ids) {
+                final var found = deleting.contains(id) ? Optional.<MockEmployee>empty() : table.findById(id);
+                found.ifPresent(employee -> deleting.add(employee.getId()));
+                removed.add(found);
+            }
+            write = enqueueRemovals(removed);
+        }
+        commit(write);
+        return removed;
+    }
+
+    /**
+     * {@link #removeFirstByName} for each name in order, in one write. A name given twice removes two employees of
+     * that name, if there are two.
+     */
+    public List<Optional<MockEmployee>> removeFirstByNames(@NonNull List<String> names) {
+        final var removed = new ArrayList<Optional<MockEmployee>>(names.size());
+        final PendingWrite write;
+        synchronized (this) {
+            for (final var name : names) {
+                final var found =
+                        table.firstIdNamed(EmployeeTable.fold(name), deleting).flatMap(table::findById);
+                found.ifPresent(employee -> deleting.add(employee.getId()));
+                removed.add(found);
+            }
+            write = enqueueRemovals(removed);
+        }
+        commit(write);
+        return removed;
+    }
+
+    private PendingWrite enqueueRemovals(List<Optional<MockEmployee>> removed) {
+        final var planned = new ArrayList<MockEmployeeChange>(removed.size());
+        for (final var employee : removed) {
+            employee.ifPresent(found -> planned.add(new MockEmployeeChange(
+                    reserved + planned.size() + 1, MockEmployeeChange.Type.DELETED, found)));
+        }
+        return enqueue(planned);
+    }
+
+    private PendingWrite enqueue(List<MockEmployeeChange> planned) {
+        if (planned.isEmpty()) {
+            return null;
+        }
+        reserved += planned.size();
+        final var write = new PendingWrite(planned);
+        queued.add(write);
+        return write;
+    }
+
+    /**
+     * Returns the version of the last change of {@code write} once it is applied, or throws what the journal threw for
+     * it. Whoever holds the commit lock journals everything queued, so by the time a waiting writer gets the lock its
+     * write is usually done already. An empty write returns the current version.
+     */
+    private long commit(PendingWrite write) {
+        if (write == null) {
+            return version;
+        }
+        commitLock.lock();
+        try {
+            if (!write.done) {
+                flush();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+        if (write.failure instanceof Error error) {
+            throw error;
+        }
+        if (write.failure != null) {
+            throw (RuntimeException) write.failure;
+        }
+        return write.version;
+    }
+
+    private void flush() {
+        final List<PendingWrite> writes;
+        final var changes = new ArrayList<MockEmployeeChange>();
+        synchronized (this) {
+            writes = List.copyOf(queued);
+            queued.clear();
+            writes.forEach(write -> changes.addAll(write.changes));
+        }
+        try {
+            journal.write(changes);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                abandon(writes, e);
+            }
+            return;
+        }
+        synchronized (this) {
+            for (final var write : writes) {
+                apply(write.changes);
+                write.version = version;
+                write.done = true;
+            }
+            published = published.next(version, changes);
+            notifyListeners();
+        }
+        // Keeps the changes a snapshot holds on to, and so a late first read, bounded by the roster.
+        final var latest = published;
+        if (latest.unbuiltChanges() > table.size()) {
+            latest.employees();
+        }
+    }
+
+    private void apply(List<MockEmployeeChange> changes) {
+        for (final var change : changes) {
+            if (change.type() == MockEmployeeChange.Type.CREATED) {
+                insert(change.employee());
+            } else {
+                table.remove(change.employee().getId());
+                deleting.remove(change.employee().getId());
+                version++;
+            }
+            record(change);
+        }
+    }
+
+    /**
+     * Fails {@code writes}, which the journal didn't take, and gives their versions to the writes queued since. Those
+     * were planned as if the failed deletes would happen, so they may miss an employee that is still there.
+     */
+    private void abandon(List<PendingWrite> writes, Throwable failure) {
+        for (final var write : writes) {
+            write.changes.stream()
+                    .filter(change -> change.type() == MockEmployeeChange.Type.DELETED)
+                    .forEach(change -> deleting.remove(change.employee().getId()));
+            write.failure = failure;
+            write.done = true;
+        }
+        reserved = version;
+        for (final var write : queued) {
+            final var renumbered = new ArrayList<MockEmployeeChange>(write.changes.size());
+            for (final var change : write.changes) {
+                renumbered.add(new MockEmployeeChange(++reserved, change.type(), change.employee()));
+            }
+            write.changes = renumbered;
+        }
+    }
+
+    private void insert(MockEmployee mockEmployee) {
+        table.insert(mockEmployee);
+        version++;
+    }
+
+    private void record(MockEmployeeChange change) {
+        changes.put(change.sequence(), change);
+        if (version - changeFloor > changeRetention) {
+            final var dropped = changeFloor + 1;
+            changeFloor = dropped;
+            changes.remove(dropped);
+        }
+    }
+
+    private void notifyListeners() {
+        changeListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * A planned write. {@code changes} is only touched while holding the monitor, {@code done}, {@code version} and
+     * {@code failure} while holding the commit lock.
+     */
+    private static final class PendingWrite {
+
+        private List<MockEmployeeChange> changes;
+        private boolean done;
+        // The store version once applied.
+        private long version;
+        private Throwable failure;
+
+        PendingWrite(List<MockEmployeeChange> changes) {
+            this.changes = changes;
+        }
+    }
+}
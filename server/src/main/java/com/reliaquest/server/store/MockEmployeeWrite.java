@@ -0,0 +1,7 @@
+package com.reliaquest.server.store;
+
+/**
+ * What a write returned, with the store version it left the roster at: a change log reader at that version or later
+ * has already seen the write.
+ */
+public record MockEmployeeWrite<T>(T result, long version) {}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.NonNull;
+
+/**
+ * Position in the store's insertion order: the page after a cursor starts with the first employee inserted after
+ * {@code afterSequence}. Sequence numbers are never reused, so a cursor keeps its place however many employees are
+ * created or deleted in between. {@code epoch} ties the cursor to one run of the server.
+ */
+public record PageCursor(long epoch, long afterSequence) {
+
+    private static final String PREFIX = "v1:";
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIX + epoch + ":" + afterSequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PageCursor decode(@NonNull String encoded) {
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + encoded, ex);
+        }
+        final var parts = decoded.split(":");
+        if (parts.length != 3 || !decoded.startsWith(PREFIX)) {
+            throw new BadRequestException("Invalid cursor: " + encoded);
+        }
+        try {
+            return new PageCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor: " + encoded, ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.server.store;
+
+/**
+ * How the {@link MockEmployeeStore} holds its employees.
+ */
+public enum StorageEngine {
+    /** As objects; cheapest to read, several hundred bytes of heap per employee. */
+    HEAP,
+    /** In primitive columns on the heap, a fraction of the memory of {@link #HEAP}. */
+    COLUMNAR,
+    /** As {@link #COLUMNAR}, with the columns and strings outside the heap, leaving only the id index on it. */
+    COLUMNAR_OFF_HEAP;
+
+    EmployeeTable newTable() {
+        return switch (this) {
+            case HEAP -> new HeapEmployeeTable();
+            case COLUMNAR -> new ColumnarEmployeeTable(false);
+            case COLUMNAR_OFF_HEAP -> new ColumnarEmployeeTable(true);
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes change log entries to server-sent event subscribers. Each subscriber is sent its changes in order on its own
+ * virtual thread, so writers never wait on a slow client and one slow client never holds up the others. The change
+ * log is the only queue: a write just signals the subscribers, and signals to a subscriber that is still sending
+ * collapse into one more pass, so nothing piles up per write. A subscriber that falls behind the retained log is sent
+ * a {@code reset} event and disconnected, and one found stuck in a single send for longer than {@code sendTimeout}
+ * at the next write is disconnected.
+ */
+@Slf4j
+@Component
+public class ChangeStreamBroadcaster {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("change-stream-", 0).factory());
+
+    public ChangeStreamBroadcaster(
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.employees.changes.stream-timeout:10m}") Duration timeout,
+            @Value("${mock.employees.changes.send-timeout:30s}") Duration sendTimeout) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        mockEmployeeService.onChange(this::publish);
+    }
+
+    /**
+     * A stream of every change after {@code since}, starting with the ones already in the log.
+     */
+    public SseEmitter subscribe(long since) {
+        final var emitter = new SseEmitter(timeout.toMillis());
+        final var subscription = new Subscription(emitter, since);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(ex -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        signal(subscription);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    // Runs on the writing thread with the store locked, so it only signals and hands off.
+    private void publish() {
+        final var now = System.nanoTime();
+        for (final var subscription : subscriptions) {
+            final var sendingSince = subscription.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                sender.execute(() -> drop(subscription));
+            } else {
+                signal(subscription);
+            }
+        }
+    }
+
+    private void signal(Subscription subscription) {
+        if (subscription.signals.getAndIncrement() == 0) {
+            sender.execute(() -> drain(subscription));
+        }
+    }
+
+    // At most one drain runs per subscription; signals that arrive while it runs make it go round once more.
+    private void drain(Subscription subscription) {
+        var missed = 1;
+        do {
+            send(subscription);
+            missed = subscription.signals.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drop(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            log.debug("Dropping change stream subscriber stuck in a send");
+            // Waits for the stuck send to give up, at the latest when the stream times out; it gets no more changes.
+            subscription.emitter.complete();
+        }
+    }
+
+    private void send(Subscription subscription) {
+        try {
+            while (true) {
+                final var changes = mockEmployeeService.changesSince(subscription.sent, BATCH_SIZE);
+                if (changes.isEmpty()) {
+                    subscription.emitter.send(SseEmitter.event().name("reset"));
+                    subscriptions.remove(subscription);
+                    subscription.emitter.complete();
+                    return;
+                }
+                for (final var change : changes.get().changes()) {
+                    subscription.sendingSince = System.nanoTime();
+                    subscription.emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name(change.type().name().toLowerCase(Locale.ROOT))
+                            .data(change, MediaType.APPLICATION_JSON));
+                    subscription.sendingSince = 0;
+                    subscription.sent = change.sequence();
+                }
+                if (changes.get().changes().size() < BATCH_SIZE) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the emitter already completed.
+            log.debug("Dropping change stream subscriber: {}", ex.getMessage());
+            subscriptions.remove(subscription);
+        } finally {
+            subscription.sendingSince = 0;
+        }
+    }
+
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger signals = new AtomicInteger();
+
+        // Only touched by the drain that holds the subscription.
+        private long sent;
+
+        // When the send in progress started, from System.nanoTime(); 0 when not sending.
+        private volatile long sendingSince;
+
+        private Subscription(SseEmitter emitter, long sent) {
+            this.emitter = emitter;
+            this.sent = sent;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.function.Function;
+import lombok.NonNull;
+
+/**
+ * What the request limit is counted per.
+ */
+public enum ClientKey {
+    /** One limit shared by every client. */
+    GLOBAL,
+    /** One limit per remote address. */
+    REMOTE_ADDRESS,
+    /** One limit per value of a request header, falling back to the remote address when it is missing. */
+    HEADER;
+
+    private static final String GLOBAL_KEY = "";
+
+    public Function<HttpServletRequest, String> resolver(@NonNull String header) {
+        return switch (this) {
+            case GLOBAL -> request -> GLOBAL_KEY;
+            case REMOTE_ADDRESS -> HttpServletRequest::getRemoteAddr;
+            case HEADER -> request -> {
+                final var value = request.getHeader(header);
+                return value != null ? value : request.getRemoteAddr();
+            };
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.fault.Fault;
+import com.reliaquest.server.fault.FaultInjector;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the {@link Fault} the {@link FaultInjector} decides for each request. Runs ahead of the request limit, so a
+ * delayed request only counts against the limit once its delay is over.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    public static final String ADMIN_PATH = "/admin/";
+
+    private static final byte[] TRUNCATED_BODY = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+
+    @NonNull
+    private final FaultInjector faultInjector;
+
+    @NonNull
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(ADMIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var fault = faultInjector.decide(request.getMethod(), request.getRequestURI());
+        if (fault == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (fault.delayMillis() > 0) {
+            log.debug("Delaying {} {} by {}ms", request.getMethod(), request.getRequestURI(), fault.delayMillis());
+            try {
+                Thread.sleep(fault.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        switch (fault.outcome()) {
+            case HANDLE -> chain.doFilter(
+                    request, fault.trickle().enabled() ? new TricklingResponse(response, fault.trickle()) : response);
+            case ERROR -> {
+                log.debug("Failing {} {} with {}", request.getMethod(), request.getRequestURI(), fault.errorStatus());
+                response.setStatus(fault.errorStatus());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault"));
+            }
+            case RESET -> {
+                log.debug("Dropping connection of {} {}", request.getMethod(), request.getRequestURI());
+                // Promise more body than is ever sent, so the connection is closed with the response unfinished.
+                response.setHeader(HttpHeaders.CONNECTION, "close");
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setContentLength(TRUNCATED_BODY.length * 2);
+                response.getOutputStream().write(TRUNCATED_BODY);
+                response.flushBuffer();
+            }
+        }
+    }
+}
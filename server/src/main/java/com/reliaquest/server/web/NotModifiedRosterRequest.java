@@ -0,0 +1,44 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Matches a conditional roster request whose {@code If-None-Match} already names the current roster version, i.e.
+ * one that will be answered with an empty 304. Comparison is weak, as for {@code If-None-Match} in general, since
+ * response compression may have turned the ETag the client holds into a weak one.
+ */
+@RequiredArgsConstructor
+public class NotModifiedRosterRequest implements Predicate<HttpServletRequest> {
+
+    private static final String ROSTER_PATH = "/api/v1/employee";
+    private static final String WEAK_PREFIX = "W/";
+
+    @NonNull
+    private final Supplier<String> currentEtag;
+
+    @Override
+    public boolean test(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !ROSTER_PATH.equals(request.getRequestURI())
+                || request.getParameter("limit") != null) {
+            return false;
+        }
+        final var etag = currentEtag.get();
+        for (final var header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (final var candidate : header.split(",")) {
+                final var tag = candidate.trim();
+                if (etag.equals(tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.limit.RequestLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers 429 to requests the {@link RequestLimiter} refuses for their client key. A streamed response is dispatched
+ * again when it completes; that dispatch was already admitted and isn't counted twice.
+ */
+@RequiredArgsConstructor
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    @NonNull
+    private final RequestLimiter limiter;
+
+    @NonNull
+    private final Function<HttpServletRequest, String> clientKey;
+
+    // Requests that are served without counting towards, or being refused by, the limit.
+    @NonNull
+    private final Predicate<HttpServletRequest> exempt;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                || exempt.test(request)
+                || limiter.tryAcquire(clientKey.apply(request))) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a roster as the usual {@code {"data":[...],"status":...}} envelope one employee at a time, flushing every
+ * {@code flushEvery} employees, so the serialized response never has to fit in memory at once.
+ */
+@Slf4j
+@Component
+public class StreamingRosterWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
+    private final int flushEvery;
+
+    public StreamingRosterWriter(
+            ObjectMapper objectMapper, @Value("${mock.employees.stream.flush-every:500}") int flushEvery) {
+        this.objectMapper = objectMapper;
+        // Flushing is paced below; by default Jackson would flush after every employee.
+        this.employeeWriter =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushEvery = flushEvery;
+    }
+
+    public void write(List<MockEmployee> employees, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            // If writing fails part way, leave the body visibly truncated rather than closing it into valid JSON.
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT, false);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            int written = 0;
+            for (MockEmployee employee : employees) {
+                employeeWriter.writeValue(generator, employee);
+                if (++written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeStringField("status", Response.Status.HANDLED.getValue());
+            generator.writeEndObject();
+        }
+        log.debug("Streamed {} employees", employees.size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.fault.FaultRule;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Sends the body a chunk at a time, flushing each chunk and pausing before the next, like a slow or congested link.
+ */
+class TricklingResponse extends HttpServletResponseWrapper {
+
+    private final FaultRule.Trickle trickle;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    TricklingResponse(HttpServletResponse response, FaultRule.Trickle trickle) {
+        super(response);
+        this.trickle = trickle;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TricklingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    private class TricklingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private int pending;
+
+        TricklingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                final var chunk = Math.min(len, trickle.chunkSize() - pending);
+                delegate.write(b, off, chunk);
+                written(chunk);
+                off += chunk;
+                len -= chunk;
+            }
+        }
+
+        private void written(int bytes) throws IOException {
+            pending += bytes;
+            if (pending < trickle.chunkSize()) {
+                return;
+            }
+            pending = 0;
+            delegate.flush();
+            try {
+                Thread.sleep(trickle.interval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while trickling the response");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
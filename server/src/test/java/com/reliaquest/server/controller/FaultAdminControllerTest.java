@@ -0,0 +1,60 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.fault.FaultInjector;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class FaultAdminControllerTest {
+
+    private FaultInjector faultInjector;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        faultInjector = new FaultInjector(List.of(), 42);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FaultAdminController(faultInjector))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @Test
+    public void testGetRules_reportsTheSeed() throws Exception {
+        mockMvc.perform(get("/admin/faults"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.seed").value(42))
+                .andExpect(jsonPath("$.data.rules").isEmpty());
+    }
+
+    @Test
+    public void testReplaceRules_answersWithTheNewRulesAndTheSeed() throws Exception {
+        mockMvc.perform(put("/admin/faults")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[ { \"method\": \"GET\", \"path\": \"/api/v1/employee/**\", \"errorRate\": 0.1 } ]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.seed").value(42))
+                .andExpect(jsonPath("$.data.rules[0].errorRate").value(0.1))
+                .andExpect(jsonPath("$.data.rules[0].errorStatus").value(503));
+
+        assertEquals(1, faultInjector.rules().size());
+    }
+
+    @Test
+    public void testReplaceRules_rejectsInvalidRule() throws Exception {
+        mockMvc.perform(put("/admin/faults")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[ { \"errorRate\": 0.8, \"resetRate\": 0.8 } ]"))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(faultInjector.rules().isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.web.ChangeStreamBroadcaster;
+import com.reliaquest.server.web.StreamingRosterWriter;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MockEmployeeControllerTest {
+
+    private final MockEmployee ann = MockEmployee.builder().id(UUID.randomUUID()).name("Ann").build();
+
+    private MockEmployeeStore store;
+    private MockEmployeeService service;
+    private ChangeStreamBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        store = new MockEmployeeStore(List.of(ann), 100);
+        service = new MockEmployeeService(
+                new Faker(Locale.ENGLISH), store, Validation.buildDefaultValidatorFactory().getValidator());
+        broadcaster = new ChangeStreamBroadcaster(service, Duration.ofMinutes(1), Duration.ofSeconds(30));
+        final var controller = new MockEmployeeController(
+                service, new StreamingRosterWriter(new ObjectMapper(), 500), broadcaster);
+        ReflectionTestUtils.setField(controller, "maxPageLimit", 1000);
+        ReflectionTestUtils.setField(controller, "maxBatchSize", 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    public void testGetEmployees_sendsEtagAndRosterPosition() throws Exception {
+        final var started = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, store.etag()))
+                .andExpect(header().string(MockEmployeeController.ROSTER_EPOCH_HEADER, Long.toString(store.epoch())))
+                .andExpect(header().string(MockEmployeeController.ROSTER_VERSION_HEADER, "1"))
+                .andExpect(jsonPath("$.data[0].employee_name").value("Ann"));
+    }
+
+    @Test
+    public void testGetEmployees_notModifiedForCurrentEtag() throws Exception {
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, store.etag()))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, store.etag()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testGetEmployees_modifiedOnceTheRosterChanges() throws Exception {
+        final var stale = store.etag();
+        store.add(MockEmployee.builder().id(UUID.randomUUID()).name("Bo").build());
+
+        final var started = mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, stale))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertNotEquals(stale, store.etag());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, store.etag()))
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    public void testCreateEmployees_reportsInvalidItemsInTheirSlot() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                    { "name": "Jill", "salary": 139082, "age": 48, "title": "Financial Advisor" },
+                                    { "name": "Kid", "salary": 1000, "age": 12, "title": "Intern" },
+                                    { "name": "Bill", "salary": 89750, "age": 24, "title": "Documentation Engineer" }
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.ROSTER_VERSION_HEADER, "3"))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].data.employee_name").value("Jill"))
+                .andExpect(jsonPath("$.data[1].data").doesNotExist())
+                .andExpect(jsonPath("$.data[1].error").value(containsString("age")))
+                .andExpect(jsonPath("$.data[2].data.employee_name").value("Bill"));
+
+        assertEquals(List.of("Ann", "Jill", "Bill"), store.findAll().stream().map(MockEmployee::getName).toList());
+    }
+
+    @Test
+    public void testCreateEmployees_rejectsOversizedBatch() throws Exception {
+        final var item = "{ \"name\": \"Jill\", \"salary\": 139082, \"age\": 48, \"title\": \"Advisor\" }";
+
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", item, item, item, item) + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Batch of 4 items exceeds the limit of 3"));
+
+        assertEquals(1, store.version());
+    }
+
+    @Test
+    public void testDeleteEmployees_reportsEachNameInItsSlot() throws Exception {
+        mockMvc.perform(delete("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[ { \"name\": \"ANN\" }, { \"name\": \"Ann\" }, { \"name\": \" \" } ]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].data").value(true))
+                .andExpect(jsonPath("$.data[1].data").value(false))
+                .andExpect(jsonPath("$.data[2].error").value(containsString("name")));
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testDeleteEmployeesById_reportsEachIdInItsSlot() throws Exception {
+        mockMvc.perform(delete("/api/v1/employee/batch/ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[ \"%s\", \"%s\" ]".formatted(ann.getId(), UUID.randomUUID())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].data.id").value(ann.getId().toString()))
+                .andExpect(jsonPath("$.data[1].error").value("Employee not found"));
+
+        assertEquals(0, store.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.fault;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultInjectorTest {
+
+    private static final FaultRule FLAKY = new FaultRule(
+            "GET",
+            "/api/v1/employee/**",
+            new FaultRule.Latency(
+                    FaultRule.Distribution.LONG_TAIL, Duration.ofMillis(50), null, 1, Duration.ofSeconds(2)),
+            0.2,
+            0,
+            0.1,
+            null);
+
+    @Test
+    public void testDecide_sameSeedSameFaults() {
+        assertEquals(
+                decide(new FaultInjector(List.of(FLAKY), 42), 200),
+                decide(new FaultInjector(List.of(FLAKY), 42), 200));
+    }
+
+    @Test
+    public void testDecide_otherSeedOtherFaults() {
+        assertNotEquals(
+                decide(new FaultInjector(List.of(FLAKY), 42), 200),
+                decide(new FaultInjector(List.of(FLAKY), 43), 200));
+    }
+
+    @Test
+    public void testDecide_unmatchedRequestsDontShiftTheDraws() {
+        final var injector = new FaultInjector(List.of(FLAKY), 42);
+        final var faults = new ArrayList<Fault>();
+        for (int i = 0; i < 100; i++) {
+            assertNull(injector.decide("POST", "/api/v1/employee"));
+            assertNull(injector.decide("GET", "/admin/faults"));
+            faults.add(injector.decide("GET", "/api/v1/employee"));
+        }
+
+        assertEquals(decide(new FaultInjector(List.of(FLAKY), 42), 100), faults);
+    }
+
+    @Test
+    public void testReplace_restartsTheDraws() {
+        final var injector = new FaultInjector(List.of(), 42);
+        assertNull(injector.decide("GET", "/api/v1/employee"));
+        injector.replace(List.of(FLAKY));
+        final var first = decide(injector, 100);
+
+        injector.replace(List.of(FLAKY));
+
+        assertEquals(first, decide(injector, 100));
+        assertEquals(42, injector.seed());
+    }
+
+    @Test
+    public void testDecide_drawsEveryOutcomeWithinTheRuleBounds() {
+        final var faults = decide(new FaultInjector(List.of(FLAKY), 42), 1000);
+
+        for (final var outcome : Fault.Outcome.values()) {
+            assertTrue(faults.stream().anyMatch(fault -> fault.outcome() == outcome), outcome.name());
+        }
+        assertTrue(faults.stream().allMatch(fault -> fault.delayMillis() >= 0 && fault.delayMillis() <= 2000));
+        assertTrue(faults.stream().allMatch(fault -> fault.errorStatus() == 503));
+    }
+
+    private static List<Fault> decide(FaultInjector injector, int requests) {
+        final var faults = new ArrayList<Fault>(requests);
+        for (int i = 0; i < requests; i++) {
+            faults.add(injector.decide("GET", "/api/v1/employee"));
+        }
+        return faults;
+    }
+}
@@ -0,0 +1,176 @@
+package com.reliaquest.server.limit;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    private long now;
+
+    @BeforeEach
+    public void setUp() {
+        now = 1_700_000_000_000L;
+    }
+
+    @Test
+    public void testTryAcquire_fixedWindowRefusesUntilWindowCloses() {
+        final var limiter = limiter(LimiterStrategy.FIXED_WINDOW, 2, 100);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        advance(999);
+        assertFalse(limiter.tryAcquire("a"));
+        advance(1);
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testTryAcquire_fixedWindowOpensWithFirstRequestAfterClosing() {
+        final var limiter = limiter(LimiterStrategy.FIXED_WINDOW, 1, 100);
+
+        assertTrue(limiter.tryAcquire("a"));
+        advance(1500);
+        assertTrue(limiter.tryAcquire("a"));
+        advance(999);
+        assertFalse(limiter.tryAcquire("a"));
+        advance(1);
+        assertTrue(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testTryAcquire_slidingWindowWeighsPreviousWindow() {
+        final var limiter = limiter(LimiterStrategy.SLIDING_WINDOW, 4, 100);
+
+        advance(900);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+        // A fixed window would allow another four right after the boundary.
+        advance(100);
+        assertFalse(limiter.tryAcquire("a"));
+        // Halfway through, half of the previous window's four still count.
+        advance(500);
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        // Once the last request is two windows back, nothing before it counts.
+        advance(1500);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testTryAcquire_slidingWindowCountsStaleClockReadInNewerWindow() {
+        final var limit = new SlidingWindowLimit(2, 1000, 0);
+
+        assertTrue(limit.tryAcquire(1000));
+        // Read before the request above rolled the window over; it must not rewind the state to window 0.
+        assertTrue(limit.tryAcquire(999));
+        assertFalse(limit.tryAcquire(1000));
+        assertFalse(limit.tryAcquire(0));
+        assertFalse(limit.tryAcquire(1999));
+    }
+
+    @Test
+    public void testTryAcquire_tokenBucketRefillsContinuously() {
+        final var limiter = limiter(LimiterStrategy.TOKEN_BUCKET, 4, 100);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+        assertFalse(limiter.tryAcquire("a"));
+        // One token every 250ms.
+        advance(249);
+        assertFalse(limiter.tryAcquire("a"));
+        advance(1);
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        // Refill stops at the bucket's capacity.
+        advance(10_000);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testTryAcquire_tokenBucketIgnoresStaleClockRead() {
+        final var limit = new TokenBucketLimit(2, 1000, 0);
+
+        assertTrue(limit.tryAcquire(0));
+        assertTrue(limit.tryAcquire(0));
+        assertTrue(limit.tryAcquire(500));
+        // Earlier than the last update: no refill, and the timestamp stays at 500.
+        assertFalse(limit.tryAcquire(400));
+        assertFalse(limit.tryAcquire(999));
+        assertTrue(limit.tryAcquire(1000));
+    }
+
+    @Test
+    public void testTryAcquire_keysAreLimitedIndependently() {
+        for (final var strategy : LimiterStrategy.values()) {
+            final var limiter = limiter(strategy, 1, 100);
+
+            assertTrue(limiter.tryAcquire("a"), strategy.name());
+            assertFalse(limiter.tryAcquire("a"), strategy.name());
+            assertTrue(limiter.tryAcquire("b"), strategy.name());
+            assertFalse(limiter.tryAcquire("b"), strategy.name());
+        }
+    }
+
+    @Test
+    public void testTryAcquire_keysPastMaxKeysShareOverflowLimit() {
+        final var limiter = limiter(LimiterStrategy.FIXED_WINDOW, 1, 1);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+        assertFalse(limiter.tryAcquire("c"));
+        assertFalse(limiter.tryAcquire("b"));
+    }
+
+    @Test
+    public void testTryAcquire_sameRequestsSameDecisions() {
+        for (final var strategy : LimiterStrategy.values()) {
+            assertEquals(decisions(strategy), decisions(strategy), strategy.name());
+        }
+    }
+
+    @Test
+    public void testConstructor_rejectsLimitAboveStrategyMaximum() {
+        for (final var strategy : LimiterStrategy.values()) {
+            assertThrows(IllegalArgumentException.class, () -> limiter(strategy, strategy.maxLimit() + 1, 100));
+            assertDoesNotThrow(() -> limiter(strategy, strategy.maxLimit(), 100));
+        }
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RequestLimiter(LimiterStrategy.FIXED_WINDOW, 1, Duration.ZERO, 1, () -> now));
+    }
+
+    private String decisions(LimiterStrategy strategy) {
+        now = 0;
+        final var limiter = limiter(strategy, 3, 100);
+        final var decisions = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            advance(i * 37 % 190);
+            decisions.append(limiter.tryAcquire(i % 3 == 0 ? "a" : "b") ? '+' : '-');
+        }
+        return decisions.toString();
+    }
+
+    private RequestLimiter limiter(LimiterStrategy strategy, int limit, int maxKeys) {
+        return new RequestLimiter(strategy, limit, WINDOW, maxKeys, () -> now);
+    }
+
+    private void advance(long millis) {
+        now += millis;
+    }
+}
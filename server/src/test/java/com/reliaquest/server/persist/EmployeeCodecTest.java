@@ -0,0 +1,78 @@
+package com.reliaquest.server.persist;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeCodecTest {
+
+    @Test
+    public void testRead_roundTripsEveryField() throws IOException {
+        final var employee = new MockEmployee(UUID.randomUUID(), "Ann Lee", 120_000, 41, "Engineer", "ann@company.com");
+
+        assertEquals(List.of(employee), roundTrip(List.of(employee)));
+    }
+
+    @Test
+    public void testRead_roundTripsNullFields() throws IOException {
+        final var idOnly = MockEmployee.builder().id(UUID.randomUUID()).build();
+        final var noNumbers = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Bo")
+                .email("bo@company.com")
+                .build();
+        final var noStrings = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .salary(0)
+                .age(-1)
+                .build();
+
+        assertEquals(List.of(idOnly, noNumbers, noStrings), roundTrip(List.of(idOnly, noNumbers, noStrings)));
+    }
+
+    @Test
+    public void testRead_keepsEmptyAndNonAsciiStringsApartFromNull() throws IOException {
+        final var employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Zo\u00eb \u00d8rsted \u674e")
+                .title("")
+                .build();
+
+        final var read = roundTrip(List.of(employee)).get(0);
+
+        assertEquals(employee, read);
+        assertEquals("", read.getTitle());
+        assertNull(read.getEmail());
+    }
+
+    @Test
+    public void testReadId_roundTripsId() throws IOException {
+        final var id = UUID.randomUUID();
+        final var bytes = new ByteArrayOutputStream();
+        EmployeeCodec.writeId(new DataOutputStream(bytes), id);
+
+        final var in = ByteBuffer.wrap(bytes.toByteArray());
+
+        assertEquals(id, EmployeeCodec.readId(in));
+        assertFalse(in.hasRemaining());
+    }
+
+    private static List<MockEmployee> roundTrip(List<MockEmployee> employees) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        final var out = new DataOutputStream(bytes);
+        for (final var employee : employees) {
+            EmployeeCodec.write(out, employee);
+        }
+        final var in = ByteBuffer.wrap(bytes.toByteArray());
+        final var read = employees.stream().map(ignored -> EmployeeCodec.read(in)).toList();
+        assertFalse(in.hasRemaining());
+        return read;
+    }
+}
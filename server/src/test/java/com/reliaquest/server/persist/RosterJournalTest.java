@@ -0,0 +1,158 @@
+package com.reliaquest.server.persist;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChange;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MockEmployee ann;
+    private MockEmployee bo;
+    private MockEmployee cy;
+
+    @BeforeEach
+    public void setUp() {
+        file = directory.resolve("roster.wal");
+        ann = new MockEmployee(UUID.randomUUID(), "Ann", 100, 30, "Engineer", "ann@company.com");
+        bo = MockEmployee.builder().id(UUID.randomUUID()).name("Bo").build();
+        cy = new MockEmployee(UUID.randomUUID(), "Cy", 300, 50, "Manager", "cy@company.com");
+    }
+
+    @Test
+    public void testReplay_appliesChangesInOrder() throws IOException {
+        try (var journal = RosterJournal.create(file)) {
+            journal.write(List.of(created(1, ann), created(2, bo)));
+            journal.write(List.of(deleted(3, ann), created(4, cy)));
+        }
+        final var snapshotted = MockEmployee.builder().id(UUID.randomUUID()).build();
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+        employees.put(snapshotted.getId(), snapshotted);
+
+        assertEquals(4, RosterJournal.replay(file, employees));
+        assertEquals(List.of(snapshotted, bo, cy), List.copyOf(employees.values()));
+    }
+
+    @Test
+    public void testReplay_emptyLog() throws IOException {
+        RosterJournal.create(file).close();
+
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+
+        assertEquals(0, RosterJournal.replay(file, employees));
+        assertTrue(employees.isEmpty());
+    }
+
+    @Test
+    public void testReplay_stopsAtTruncatedRecord() throws IOException {
+        final var ends = writeEach(created(1, ann), created(2, bo), created(3, cy));
+        for (long size = ends.get(2) - 1; size > ends.get(1); size--) {
+            truncate(size);
+            final var employees = new LinkedHashMap<UUID, MockEmployee>();
+
+            assertEquals(2, RosterJournal.replay(file, employees), "truncated to " + size);
+            assertEquals(List.of(ann, bo), List.copyOf(employees.values()));
+        }
+    }
+
+    @Test
+    public void testReplay_stopsAtCorruptRecord() throws IOException {
+        final var ends = writeEach(created(1, ann), created(2, bo), created(3, cy));
+        // A flipped bit in the second record's payload; the third record is intact but comes after it.
+        flip(ends.get(0) + Integer.BYTES + 4);
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+
+        assertEquals(1, RosterJournal.replay(file, employees));
+        assertEquals(List.of(ann), List.copyOf(employees.values()));
+    }
+
+    @Test
+    public void testReplay_stopsAtCorruptChecksum() throws IOException {
+        final var ends = writeEach(created(1, ann), deleted(2, ann), created(3, cy));
+        flip(ends.get(1) - 1);
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+
+        assertEquals(1, RosterJournal.replay(file, employees));
+        assertEquals(List.of(ann), List.copyOf(employees.values()));
+    }
+
+    @Test
+    public void testReplay_stopsAtLengthPastEndOfLog() throws IOException {
+        final var ends = writeEach(created(1, ann), created(2, bo));
+        try (var raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(ends.get(0));
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+
+        assertEquals(1, RosterJournal.replay(file, employees));
+        assertEquals(List.of(ann), List.copyOf(employees.values()));
+    }
+
+    @Test
+    public void testReplay_rejectsFileWithoutHeader() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> RosterJournal.replay(file, new LinkedHashMap<>()));
+    }
+
+    @Test
+    public void testCreate_replacesPreviousLog() throws IOException {
+        writeEach(created(1, ann));
+        RosterJournal.create(file).close();
+
+        assertEquals(0, RosterJournal.replay(file, new LinkedHashMap<>()));
+    }
+
+    /**
+     * Writes each change in its own batch and returns the log's size after each.
+     */
+    private List<Long> writeEach(MockEmployeeChange... changes) throws IOException {
+        final var ends = new ArrayList<Long>();
+        try (var journal = RosterJournal.create(file)) {
+            for (final var change : changes) {
+                journal.write(List.of(change));
+                ends.add(Files.size(file));
+            }
+        }
+        return ends;
+    }
+
+    private void truncate(long size) throws IOException {
+        try (var raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size);
+        }
+    }
+
+    private void flip(long offset) throws IOException {
+        try (var raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(offset);
+            final var value = raf.read();
+            raf.seek(offset);
+            raf.write(value ^ 0x10);
+        }
+    }
+
+    private static MockEmployeeChange created(long sequence, MockEmployee employee) {
+        return new MockEmployeeChange(sequence, MockEmployeeChange.Type.CREATED, employee);
+    }
+
+    private static MockEmployeeChange deleted(long sequence, MockEmployee employee) {
+        return new MockEmployeeChange(sequence, MockEmployeeChange.Type.DELETED, employee);
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.server.seed;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelRosterGeneratorTest {
+
+    @Test
+    public void testGenerate_sameSeedSameRosterWhateverTheCoreCount() throws Exception {
+        final var oneCore = generateOn(1, 42, 2500);
+        final var manyCores = generateOn(8, 42, 2500);
+
+        assertEquals(oneCore, manyCores);
+    }
+
+    @Test
+    public void testGenerate_otherSeedOtherRoster() {
+        assertNotEquals(
+                new ParallelRosterGenerator(Locale.ENGLISH, 42, 100).generate(100),
+                new ParallelRosterGenerator(Locale.ENGLISH, 43, 100).generate(100));
+    }
+
+    @Test
+    public void testGenerate_countAcrossPartialLastPartition() {
+        final var roster = new ParallelRosterGenerator(Locale.ENGLISH, 42, 10).generate(25);
+
+        assertEquals(25, roster.size());
+        assertEquals(25, new HashSet<>(roster.stream().map(MockEmployee::getId).toList()).size());
+        for (final var employee : roster) {
+            assertEquals(4, employee.getId().version());
+            assertFalse(employee.getName().isBlank());
+            assertFalse(employee.getTitle().isBlank());
+            assertTrue(employee.getAge() >= 16 && employee.getAge() < 70, employee.toString());
+            assertTrue(employee.getSalary() > 0, employee.toString());
+            assertTrue(employee.getEmail().matches("\\p{L}+\\.\\p{L}+\\d+@company\\.com"), employee.getEmail());
+        }
+    }
+
+    @Test
+    public void testGenerate_empty() {
+        assertTrue(new ParallelRosterGenerator(Locale.ENGLISH, 42, 10).generate(0).isEmpty());
+    }
+
+    @Test
+    public void testConstructor_rejectsNonPositivePartitionSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRosterGenerator(Locale.ENGLISH, 42, 0));
+    }
+
+    // Parallel streams run in the pool of the thread that starts them.
+    private static List<MockEmployee> generateOn(int cores, long seed, int count) throws Exception {
+        final var pool = new ForkJoinPool(cores);
+        try {
+            return pool.submit(() -> new ParallelRosterGenerator(Locale.ENGLISH, seed, 100).generate(count))
+                    .get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
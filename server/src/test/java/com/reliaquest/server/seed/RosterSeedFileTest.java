@@ -0,0 +1,100 @@
+package com.reliaquest.server.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.web.StreamingRosterWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterSeedFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MockEmployee jill = new MockEmployee(
+            UUID.fromString("d005f39a-beb8-4390-afec-fd54e91d94ee"),
+            "Jill Jenkins",
+            139082,
+            48,
+            "Financial Advisor",
+            "jillj@company.com");
+    private final MockEmployee bill = new MockEmployee(
+            UUID.fromString("5255f1a5-f9f7-4be5-829a-134bde088d17"),
+            "Bill Bob",
+            89750,
+            24,
+            "Documentation Engineer",
+            "billBob@company.com");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRead_arrayOfEmployees() throws IOException {
+        final var file = write(objectMapper.writeValueAsString(List.of(jill, bill)));
+
+        assertEquals(List.of(jill, bill), RosterSeedFile.read(file, objectMapper.getFactory()));
+    }
+
+    @Test
+    public void testRead_savedRosterResponse() throws IOException {
+        final var file = directory.resolve("roster.json");
+        try (var out = Files.newOutputStream(file)) {
+            new StreamingRosterWriter(objectMapper, 500).write(List.of(jill, bill), out);
+        }
+
+        assertEquals(List.of(jill, bill), RosterSeedFile.read(file, objectMapper.getFactory()));
+    }
+
+    @Test
+    public void testRead_skipsFieldsBeforeAndInsideTheData() throws IOException {
+        final var file = write("""
+                {
+                    "status": "Successfully processed request.",
+                    "meta": { "nested": [ 1, 2, { "data": [] } ] },
+                    "data": [ {
+                        "id": "d005f39a-beb8-4390-afec-fd54e91d94ee",
+                        "employee_name": "Jill Jenkins",
+                        "employee_nickname": { "short": "Jill" },
+                        "employee_salary": 139082,
+                        "employee_age": 48,
+                        "employee_title": "Financial Advisor",
+                        "employee_email": "jillj@company.com"
+                    } ]
+                }
+                """);
+
+        assertEquals(List.of(jill), RosterSeedFile.read(file, objectMapper.getFactory()));
+    }
+
+    @Test
+    public void testRead_rejectsEmployeeWithoutId() throws IOException {
+        final var file = write("[ { \"employee_name\": \"Jill Jenkins\" } ]");
+
+        assertThrows(IOException.class, () -> RosterSeedFile.read(file, objectMapper.getFactory()));
+    }
+
+    @Test
+    public void testRead_rejectsDuplicateId() throws IOException {
+        final var file = write(objectMapper.writeValueAsString(List.of(jill, bill, jill)));
+
+        assertThrows(IOException.class, () -> RosterSeedFile.read(file, objectMapper.getFactory()));
+    }
+
+    @Test
+    public void testRead_rejectsDocumentWithoutEmployees() throws IOException {
+        final var file = write("{ \"status\": \"Successfully processed request.\" }");
+
+        assertThrows(IOException.class, () -> RosterSeedFile.read(file, objectMapper.getFactory()));
+    }
+
+    private Path write(String json) throws IOException {
+        return Files.writeString(directory.resolve("roster.json"), json);
+    }
+}
@@ -0,0 +1,176 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same writes against a table of every {@link StorageEngine} and checks that each one answers every read
+ * the way the heap table does.
+ */
+public class EmployeeTableParityTest {
+
+    private static final List<String> NAMES = List.of("Ann", "ann", "ANN", "Bo", "Cy Lee", "cy lee", "Dee");
+
+    private List<EmployeeTable> tables;
+
+    @BeforeEach
+    public void setUp() {
+        tables = new ArrayList<>();
+        for (final var engine : StorageEngine.values()) {
+            tables.add(engine.newTable());
+        }
+    }
+
+    @Test
+    public void testInsert_sequencesAndReadsMatch() {
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 50; i++) {
+            final var employee = employee(NAMES.get(i % NAMES.size()), i);
+            employees.add(employee);
+            for (final var table : tables) {
+                assertEquals(i + 1, table.insert(employee));
+            }
+        }
+
+        assertParity();
+        for (final var table : tables) {
+            assertEquals(employees, table.list());
+        }
+    }
+
+    @Test
+    public void testInsert_keepsNullFields() {
+        final var bare = MockEmployee.builder().id(UUID.randomUUID()).build();
+        tables.forEach(table -> table.insert(bare));
+
+        assertParity();
+        for (final var table : tables) {
+            assertEquals(List.of(bare), table.list());
+            assertEquals(bare, table.findById(bare.getId()).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testRemove_readsMatchAfterRandomWrites() {
+        final var random = new Random(42);
+        final var live = new ArrayList<UUID>();
+        for (int i = 0; i < 2_000; i++) {
+            if (live.isEmpty() || random.nextInt(3) > 0) {
+                final var name = random.nextInt(10) == 0 ? null : NAMES.get(random.nextInt(NAMES.size()));
+                final var employee = employee(name, i);
+                live.add(employee.getId());
+                final var sequences = tables.stream().map(table -> table.insert(employee)).toList();
+                assertEquals(1, sequences.stream().distinct().count(), "insert " + i);
+            } else {
+                // Now and then an id nobody has.
+                final var id = random.nextInt(10) == 0 ? UUID.randomUUID() : live.remove(random.nextInt(live.size()));
+                final var removed = tables.stream().map(table -> table.remove(id)).toList();
+                assertEquals(1, removed.stream().distinct().count(), "remove " + i);
+            }
+            if (i % 100 == 0) {
+                assertParity();
+            }
+        }
+
+        assertParity();
+        for (final var table : tables) {
+            assertEquals(live, table.list().stream().map(MockEmployee::getId).toList());
+        }
+    }
+
+    @Test
+    public void testFirstIdNamed_matchesFoldedNameAndSkipsExcluded() {
+        final var first = employee("Ann", 1);
+        final var second = employee("ANN", 2);
+        final var other = employee("Bo", 3);
+        final var third = employee("ann", 4);
+        for (final var table : tables) {
+            List.of(first, second, other, third).forEach(table::insert);
+        }
+
+        for (final var table : tables) {
+            assertEquals(first.getId(), table.firstIdNamed("ann", Set.of()).orElseThrow());
+            assertEquals(third.getId(), table.firstIdNamed("ann", Set.of(first.getId(), second.getId())).orElseThrow());
+            assertTrue(table.firstIdNamed("ann", Set.of(first.getId(), second.getId(), third.getId())).isEmpty());
+            assertTrue(table.firstIdNamed("ANN", Set.of()).isEmpty());
+
+            table.remove(first.getId());
+            assertEquals(second.getId(), table.firstIdNamed("ann", Set.of()).orElseThrow());
+        }
+        assertParity();
+    }
+
+    @Test
+    public void testAfter_pagesMatchAcrossRemovals() {
+        final var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 30; i++) {
+            final var employee = employee(NAMES.get(i % NAMES.size()), i);
+            ids.add(employee.getId());
+            tables.forEach(table -> table.insert(employee));
+        }
+        // Leave gaps, including at the first and the last row.
+        for (int i = 0; i < 30; i += 4) {
+            final var id = ids.get(i);
+            tables.forEach(table -> table.remove(id));
+        }
+        final var last = ids.get(29);
+        tables.forEach(table -> table.remove(last));
+
+        assertParity();
+        for (final var table : tables) {
+            final var page = table.after(0, 5);
+            assertEquals(5, page.employees().size());
+            assertTrue(page.more());
+            final var end = table.after(29, 5);
+            assertTrue(end.employees().isEmpty());
+            assertFalse(end.more());
+        }
+    }
+
+    /**
+     * Compares every table against the heap table: size, list, lookups by id and name for every employee, and every
+     * page of a few sizes.
+     */
+    private void assertParity() {
+        final var reference = tables.get(0);
+        final var list = reference.list();
+        for (final var table : tables.subList(1, tables.size())) {
+            final var engine = table.getClass().getSimpleName();
+            assertEquals(reference.size(), table.size(), engine);
+            assertEquals(list, table.list(), engine);
+            for (final var employee : list) {
+                assertEquals(employee, table.findById(employee.getId()).orElseThrow(), engine);
+                if (employee.getName() != null) {
+                    final var folded = EmployeeTable.fold(employee.getName());
+                    final var excluded = Set.of(employee.getId());
+                    assertEquals(
+                            reference.firstIdNamed(folded, Set.of()), table.firstIdNamed(folded, Set.of()), engine);
+                    assertEquals(
+                            reference.firstIdNamed(folded, excluded), table.firstIdNamed(folded, excluded), engine);
+                }
+            }
+            for (final var limit : List.of(1, 3, 64)) {
+                var expected = reference.after(0, limit);
+                var actual = table.after(0, limit);
+                assertEquals(expected, actual, engine + " limit " + limit);
+                while (expected.more()) {
+                    expected = reference.after(expected.lastSequence(), limit);
+                    actual = table.after(actual.lastSequence(), limit);
+                    assertEquals(expected, actual, engine + " limit " + limit);
+                }
+            }
+        }
+    }
+
+    private static MockEmployee employee(String name, int i) {
+        return new MockEmployee(UUID.randomUUID(), name, 1_000 * i, 20 + i % 40, "Title " + i % 5, null);
+    }
+}
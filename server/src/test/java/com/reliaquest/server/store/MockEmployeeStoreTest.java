@@ -0,0 +1,524 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.exception.BadRequestException;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MockEmployeeStoreTest {
+
+    private MockEmployee ann;
+    private MockEmployee bo;
+    private MockEmployee annToo;
+
+    private List<List<MockEmployeeChange>> journaled;
+    private boolean failing;
+    private MockEmployeeStore store;
+    private AtomicInteger notified;
+
+    @BeforeEach
+    public void setUp() {
+        ann = employee("Ann");
+        bo = employee("Bo");
+        annToo = employee("ANN");
+        journaled = new ArrayList<>();
+        failing = false;
+        store = new MockEmployeeStore(List.of(ann), 100, StorageEngine.HEAP, this::journal);
+        notified = new AtomicInteger();
+        store.onChange(notified::incrementAndGet);
+    }
+
+    @Test
+    public void testRemoveFirstByName_removesTheEarliestMatchIgnoringCase() {
+        store.add(bo);
+        store.add(annToo);
+
+        assertEquals(Optional.of(ann), store.removeFirstByName("ann"));
+        assertEquals(Optional.of(annToo), store.removeFirstByName("Ann"));
+        assertTrue(store.removeFirstByName("ANN").isEmpty());
+        assertEquals(List.of(bo), store.findAll());
+        assertTrue(store.findById(ann.getId()).isEmpty());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testConcurrentAddsAndDeletes_keepTheIndexesInStep() throws Exception {
+        final var writers = new ArrayList<Thread>();
+        final var removed = new AtomicInteger();
+        for (int t = 0; t < 8; t++) {
+            writers.add(start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    store.add(employee("Shared"));
+                    // Every writer has one of its own left to remove, whatever the others are doing.
+                    if (i % 2 == 1 && store.removeFirstByName("shared").isPresent()) {
+                        removed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (final var writer : writers) {
+            writer.join(10_000);
+        }
+
+        assertEquals(2000, removed.get());
+        final var all = store.findAll();
+        assertEquals(2001, all.size());
+        assertEquals(all.size(), store.size());
+        assertEquals(all.size(), all.stream().map(MockEmployee::getId).distinct().count());
+        for (final var employee : all) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+        // The name index holds exactly the employees that are left.
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(store.removeFirstByName("SHARED").isPresent());
+        }
+        assertTrue(store.removeFirstByName("Shared").isEmpty());
+        assertEquals(List.of(ann), store.findAll());
+    }
+
+    @Test
+    public void testReadsDuringWrites_neverSeeAHalfAppliedWrite() throws Exception {
+        final var kept = new ArrayList<MockEmployee>();
+        final var positions = new HashMap<UUID, Integer>();
+        for (int i = 0; i < 2000; i++) {
+            kept.add(employee("Kept " + i));
+            positions.put(kept.get(i).getId(), i);
+        }
+        final var writer = start(() -> {
+            for (final var employee : kept) {
+                store.add(employee);
+                store.add(employee("Gone"));
+                store.removeFirstByName("Gone");
+            }
+        });
+
+        while (writer.isAlive()) {
+            final var seen = store.findAll().stream()
+                    .filter(employee -> positions.containsKey(employee.getId()))
+                    .toList();
+            // Writes land one after another, so a read sees every one before the latest it sees, in order.
+            for (int i = 0; i < seen.size(); i++) {
+                assertEquals(i, (int) positions.get(seen.get(i).getId()));
+                assertEquals(Optional.of(seen.get(i)), store.findById(seen.get(i).getId()));
+            }
+        }
+        writer.join();
+
+        assertEquals(kept.size() + 1, store.size());
+        assertEquals(kept, store.findAll().subList(1, kept.size() + 1));
+    }
+
+    @Test
+    public void testSnapshot_isSharedUntilTheNextWrite() {
+        final var first = store.snapshot();
+        assertSame(first, store.snapshot());
+
+        store.add(bo);
+        final var second = store.snapshot();
+
+        assertEquals(first.version() + 1, second.version());
+        assertNotEquals(first.etag(), second.etag());
+        assertSame(second, store.snapshot());
+        // A snapshot handed out earlier still describes its own version.
+        assertEquals(List.of(ann), first.employees());
+        assertEquals(List.of(ann, bo), second.employees());
+        assertThrows(UnsupportedOperationException.class, () -> second.employees().add(annToo));
+    }
+
+    @Test
+    public void testSnapshot_unreadVersionsAreBuiltFromTheChangesSinceTheLastRead() {
+        for (final var engine : StorageEngine.values()) {
+            store = new MockEmployeeStore(List.of(ann), 100, engine, ChangeJournal.NONE);
+            final var gone = employee("Gone");
+            store.addAll(List.of(bo, gone));
+            final var unread = store.snapshot();
+            store.add(annToo);
+            store.removeById(gone.getId());
+            store.removeById(ann.getId());
+            final var passing = employee("Passing");
+            store.add(passing);
+            store.removeById(passing.getId());
+
+            // Read newest first, so the older one is built after the writes that followed it.
+            assertEquals(List.of(bo, annToo), store.findAll(), engine.name());
+            assertEquals(List.of(ann, bo, gone), unread.employees(), engine.name());
+            assertSame(store.findAll(), store.findAll(), engine.name());
+        }
+    }
+
+    @Test
+    public void testWrite_costDoesNotGrowWithTheRoster() {
+        for (final var engine : StorageEngine.values()) {
+            final var small = fastestWrites(engine, 1_000);
+            final var large = fastestWrites(engine, 200_000);
+            // Copying the roster on every write made this about the ratio of the sizes, 200.
+            assertTrue(large < small * 10, engine + ": writes to 200x the roster took " + large / small + "x as long");
+        }
+    }
+
+    @Test
+    public void testAdd_returnsTheVersionItWentInAtUnderConcurrentWrites() throws Exception {
+        store = new MockEmployeeStore(List.of(ann), 10_000);
+        final var wrong = new AtomicInteger();
+        final var writers = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(start(() -> {
+                for (int i = 0; i < 200; i++) {
+                    final var added = employee("Concurrent");
+                    final var version = store.add(added);
+                    final var change = store.changesSince(version - 1, 1).orElseThrow().changes().get(0);
+                    if (change.employee() != added) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (final var writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(0, wrong.get());
+        assertEquals(1601, store.version());
+        assertEquals(1601, store.addAll(List.of()));
+        assertEquals(1603, store.addAll(List.of(bo, annToo)));
+    }
+
+    @Test
+    public void testAddAll_journalsBatchBeforeApplyingIt() {
+        store = new MockEmployeeStore(List.of(ann), 100, StorageEngine.HEAP, changes -> {
+            // Nothing of the batch is visible while the journal writes it.
+            assertEquals(1, store.version());
+            assertTrue(store.findById(bo.getId()).isEmpty());
+            journaled.add(changes);
+        });
+
+        store.addAll(List.of(bo, annToo));
+
+        assertEquals(
+                List.of(List.of(
+                        new MockEmployeeChange(2, MockEmployeeChange.Type.CREATED, bo),
+                        new MockEmployeeChange(3, MockEmployeeChange.Type.CREATED, annToo))),
+                journaled);
+        assertEquals(3, store.version());
+        assertEquals(List.of(ann, bo, annToo), store.findAll());
+        assertEquals(journaled.get(0), store.changesSince(1, 10).orElseThrow().changes());
+    }
+
+    @Test
+    public void testAddAll_failedJournalLeavesStoreUnchanged() {
+        failing = true;
+
+        assertThrows(UncheckedIOException.class, () -> store.addAll(List.of(bo, annToo)));
+
+        assertUnchanged();
+    }
+
+    @Test
+    public void testRemoveFirstByNames_failedJournalLeavesStoreUnchanged() {
+        store.add(annToo);
+        journaled.clear();
+        notified.set(0);
+        failing = true;
+
+        assertThrows(UncheckedIOException.class, () -> store.removeFirstByNames(List.of("ann", "ann")));
+
+        assertEquals(2, store.version());
+        assertEquals(List.of(ann, annToo), store.findAll());
+        assertEquals(1, store.changesSince(1, 10).orElseThrow().changes().size());
+        assertEquals(0, notified.get());
+    }
+
+    @Test
+    public void testRemoveFirstByNames_repeatedNameRemovesEachMatchOnce() {
+        store.add(annToo);
+        journaled.clear();
+
+        final var removed = store.removeFirstByNames(List.of("ann", "Ann", "ann"));
+
+        assertEquals(List.of(Optional.of(ann), Optional.of(annToo), Optional.empty()), removed);
+        assertEquals(
+                List.of(List.of(
+                        new MockEmployeeChange(3, MockEmployeeChange.Type.DELETED, ann),
+                        new MockEmployeeChange(4, MockEmployeeChange.Type.DELETED, annToo))),
+                journaled);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testRemoveByIds_repeatedIdRemovesOnce() {
+        final var removed = store.removeByIds(List.of(ann.getId(), ann.getId(), bo.getId()));
+
+        assertEquals(List.of(Optional.of(ann), Optional.empty(), Optional.empty()), removed);
+        assertEquals(1, journaled.size());
+        assertEquals(1, journaled.get(0).size());
+        assertEquals(2, store.version());
+        assertEquals(1, notified.get());
+    }
+
+    @Test
+    public void testRemoveById_missingIdIsNotJournaled() {
+        assertTrue(store.removeById(bo.getId()).isEmpty());
+        assertTrue(store.removeFirstByName("Nobody").isEmpty());
+
+        assertTrue(journaled.isEmpty());
+        assertEquals(1, store.version());
+        assertEquals(0, notified.get());
+    }
+
+    @Test
+    public void testSnapshot_isPublishedByTheWriteAndReadWithoutLocking() throws Exception {
+        final var before = store.snapshot();
+        store.add(bo);
+        final var after = store.snapshot();
+
+        assertEquals(List.of(ann), before.employees());
+        assertEquals(2, after.version());
+        assertEquals(after.etag(), store.etag());
+        final var held = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var holder = start(() -> {
+            synchronized (store) {
+                held.countDown();
+                awaitQuietly(release);
+            }
+        });
+        try {
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+            // Reads never take the store lock, so one held by a writer doesn't hold them up.
+            assertSame(after, store.snapshot());
+            assertEquals(List.of(ann, bo), store.findAll());
+        } finally {
+            release.countDown();
+            holder.join(5_000);
+        }
+    }
+
+    @Test
+    public void testConcurrentWrites_shareTheNextJournalWrite() throws Exception {
+        final var syncing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var calls = new CopyOnWriteArrayList<List<MockEmployeeChange>>();
+        store = new MockEmployeeStore(List.of(ann), 100, StorageEngine.HEAP, changes -> {
+            calls.add(changes);
+            if (calls.size() == 1) {
+                syncing.countDown();
+                awaitQuietly(release);
+            }
+        });
+
+        final var first = start(() -> store.add(bo));
+        assertTrue(syncing.await(5, TimeUnit.SECONDS));
+        final var second = start(() -> store.add(annToo));
+        awaitParked(second);
+        final var third = start(() -> store.removeById(ann.getId()));
+        awaitParked(third);
+        // Nothing waiting on the sync holds the store: planning and reads go on.
+        assertEquals(1, store.version());
+        assertTrue(store.removeById(UUID.randomUUID()).isEmpty());
+        release.countDown();
+        for (final var thread : List.of(first, second, third)) {
+            thread.join(5_000);
+        }
+
+        assertEquals(
+                List.of(
+                        List.of(new MockEmployeeChange(2, MockEmployeeChange.Type.CREATED, bo)),
+                        List.of(
+                                new MockEmployeeChange(3, MockEmployeeChange.Type.CREATED, annToo),
+                                new MockEmployeeChange(4, MockEmployeeChange.Type.DELETED, ann))),
+                calls);
+        assertEquals(4, store.version());
+        assertEquals(List.of(bo, annToo), store.findAll());
+    }
+
+    @Test
+    public void testFailedJournalWrite_renumbersWritesQueuedBehindIt() throws Exception {
+        final var syncing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var calls = new AtomicInteger();
+        store = new MockEmployeeStore(List.of(ann), 100, StorageEngine.HEAP, changes -> {
+            if (calls.incrementAndGet() == 1) {
+                syncing.countDown();
+                awaitQuietly(release);
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+            journaled.add(changes);
+        });
+
+        final var failed = new AtomicInteger();
+        final var first = new Thread(() -> {
+            try {
+                store.removeById(ann.getId());
+            } catch (UncheckedIOException e) {
+                failed.incrementAndGet();
+            }
+        });
+        first.start();
+        assertTrue(syncing.await(5, TimeUnit.SECONDS));
+        final var second = start(() -> store.add(bo));
+        awaitParked(second);
+        release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        assertEquals(1, failed.get());
+        assertEquals(List.of(List.of(new MockEmployeeChange(2, MockEmployeeChange.Type.CREATED, bo))), journaled);
+        assertEquals(List.of(ann, bo), store.findAll());
+        // The failed delete no longer holds ann back from later ones.
+        assertEquals(Optional.of(ann), store.removeById(ann.getId()));
+    }
+
+    @Test
+    public void testPage_rejectsCursorFromAnotherEpoch() {
+        final var foreign = new PageCursor(store.epoch() + 1, 0);
+
+        assertThrows(BadRequestException.class, () -> store.page(foreign, 10));
+        assertThrows(BadRequestException.class, () -> store.page(null, 0));
+    }
+
+    @Test
+    public void testPage_walkIsStableUnderConcurrentInsertsAndDeletes() throws Exception {
+        final var seed = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 500; i++) {
+            seed.add(employee("Seed " + i));
+        }
+        store = new MockEmployeeStore(seed, 100, StorageEngine.HEAP, ChangeJournal.NONE);
+        final var writer = start(() -> {
+            for (int i = 0; i < seed.size(); i++) {
+                if (i % 2 == 1) {
+                    store.removeById(seed.get(i).getId());
+                }
+                store.add(employee("Late " + i));
+            }
+        });
+
+        final var seen = new ArrayList<MockEmployee>();
+        var page = store.page(null, 7);
+        seen.addAll(page.employees());
+        while (page.next() != null) {
+            page = store.page(page.next(), 7);
+            seen.addAll(page.employees());
+        }
+        writer.join();
+
+        // No employee comes twice, and one that was there throughout is never skipped, whatever shifted around it.
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+        final var seenSeed = seen.stream().filter(seed::contains).toList();
+        final var kept = new ArrayList<MockEmployee>();
+        for (int i = 0; i < seed.size(); i += 2) {
+            kept.add(seed.get(i));
+        }
+        assertTrue(seenSeed.containsAll(kept));
+        // Pages follow insertion order.
+        assertEquals(seed.stream().filter(seenSeed::contains).toList(), seenSeed);
+    }
+
+    @Test
+    public void testChangesSince_keepsOnlyTheRetainedChanges() {
+        store = new MockEmployeeStore(List.of(ann), 2, StorageEngine.HEAP, ChangeJournal.NONE);
+        final var cy = employee("Cy");
+        store.add(bo);
+        store.add(annToo);
+        store.removeById(bo.getId());
+        store.add(cy);
+
+        // Versions 2 and 3 were dropped to keep two changes, so a consumer at 1 or 2 has to reload.
+        assertTrue(store.changesSince(1, 10).isEmpty());
+        assertTrue(store.changesSince(2, 10).isEmpty());
+        assertEquals(
+                List.of(
+                        new MockEmployeeChange(4, MockEmployeeChange.Type.DELETED, bo),
+                        new MockEmployeeChange(5, MockEmployeeChange.Type.CREATED, cy)),
+                store.changesSince(3, 10).orElseThrow().changes());
+        assertTrue(store.changesSince(5, 10).orElseThrow().changes().isEmpty());
+    }
+
+    @Test
+    public void testChangesSince_limitLeavesTheRestForTheNextRead() {
+        store.addAll(List.of(bo, annToo));
+
+        final var first = store.changesSince(1, 1).orElseThrow();
+
+        assertEquals(List.of(new MockEmployeeChange(2, MockEmployeeChange.Type.CREATED, bo)), first.changes());
+        assertEquals(3, first.latest());
+        assertEquals(
+                List.of(new MockEmployeeChange(3, MockEmployeeChange.Type.CREATED, annToo)),
+                store.changesSince(2, 1).orElseThrow().changes());
+        assertThrows(BadRequestException.class, () -> store.changesSince(1, 0));
+    }
+
+    private void assertUnchanged() {
+        assertEquals(1, store.version());
+        assertEquals(List.of(ann), store.findAll());
+        assertTrue(store.findById(bo.getId()).isEmpty());
+        assertTrue(store.changesSince(1, 10).orElseThrow().changes().isEmpty());
+        assertEquals(0, notified.get());
+    }
+
+    private void journal(List<MockEmployeeChange> changes) {
+        if (failing) {
+            throw new UncheckedIOException(new IOException("Disk full"));
+        }
+        journaled.add(changes);
+    }
+
+    // Nanoseconds taken by the fastest of a few rounds of adds and deletes, with nobody reading the roster meanwhile.
+    private static long fastestWrites(StorageEngine engine, int size) {
+        final var seed = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            seed.add(employee("Seed"));
+        }
+        final var store = new MockEmployeeStore(seed, 100, engine, ChangeJournal.NONE);
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            final var started = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) {
+                final var added = employee("Added");
+                store.add(added);
+                store.removeById(added.getId());
+            }
+            fastest = Math.min(fastest, System.nanoTime() - started);
+        }
+        return fastest;
+    }
+
+    private static Thread start(Runnable write) {
+        final var thread = new Thread(write);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Writer never started waiting for the journal");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    public void testDecode_roundTripsEncode() {
+        final var cursor = new PageCursor(1792181145917L, 2);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    public void testEncode_isUrlSafe() {
+        final var encoded = new PageCursor(Long.MAX_VALUE, Long.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    public void testDecode_rejectsMalformedCursors() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("v2:1:2")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("v1:1")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("v1:1:2:3")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("v1:one:2")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class ChangeStreamBroadcasterTest {
+
+    private static final Pattern EVENT = Pattern.compile("(?:id:(\\d+)\\n)?event:(\\w+)\\n");
+
+    private final MockEmployee ann = employee("Ann");
+    private final MockEmployee bo = employee("Bo");
+    private final MockEmployee cy = employee("Cy");
+
+    private MockEmployeeStore store;
+    private ChangeStreamBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    @AfterEach
+    public void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    public void testSubscribe_sendsBacklogThenLiveChangesInOrder() throws Exception {
+        setUp(100);
+        store.add(bo);
+
+        final var response = subscribe(1);
+        store.add(cy);
+        store.removeById(bo.getId());
+
+        final var events = awaitEvents(response, sent -> sent.size() == 3);
+        assertEquals(List.of("2 created", "3 created", "4 deleted"), events);
+    }
+
+    @Test
+    public void testSubscribe_sendsResetWhenBehindTheRetainedChanges() throws Exception {
+        setUp(2);
+        store.add(bo);
+        store.add(cy);
+        store.removeById(bo.getId());
+
+        final var response = subscribe(1);
+
+        assertEquals(List.of("reset"), awaitEvents(response, sent -> !sent.isEmpty()));
+        // The stream is closed after the reset, and the subscriber is sent nothing more.
+        store.removeById(cy.getId());
+        Thread.sleep(50);
+        assertEquals(List.of("reset"), events(response));
+    }
+
+    @Test
+    public void testSubscribe_eachSubscriberGetsEveryChangeFromItsOwnPosition() throws Exception {
+        setUp(100);
+        store.add(bo);
+
+        final var fromStart = subscribe(1);
+        final var fromBo = subscribe(2);
+        store.add(cy);
+
+        assertEquals(List.of("2 created", "3 created"), awaitEvents(fromStart, sent -> sent.size() == 2));
+        assertEquals(List.of("3 created"), awaitEvents(fromBo, sent -> sent.size() == 1));
+    }
+
+    private void setUp(int changeRetention) {
+        store = new MockEmployeeStore(List.of(ann), changeRetention);
+        final var service = new MockEmployeeService(
+                new Faker(Locale.ENGLISH), store, Validation.buildDefaultValidatorFactory().getValidator());
+        broadcaster = new ChangeStreamBroadcaster(service, Duration.ofMinutes(1), Duration.ofSeconds(30));
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(
+                        service, new StreamingRosterWriter(new ObjectMapper(), 500), broadcaster))
+                .build();
+    }
+
+    private MockHttpServletResponse subscribe(long since) throws Exception {
+        return mockMvc.perform(get("/api/v1/employee/changes/stream").param("since", Long.toString(since)))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static List<String> awaitEvents(MockHttpServletResponse response, Predicate<List<String>> done)
+            throws Exception {
+        final var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        var events = events(response);
+        while (!done.test(events)) {
+            assertTrue(System.nanoTime() < deadline, "Events sent so far: " + events);
+            Thread.sleep(1);
+            events = events(response);
+        }
+        return events;
+    }
+
+    // "<id> <event>" per event sent, or just the event name when it has no id.
+    private static List<String> events(MockHttpServletResponse response) throws Exception {
+        final var events = new ArrayList<String>();
+        final var matcher = EVENT.matcher(response.getContentAsString());
+        while (matcher.find()) {
+            events.add(matcher.group(1) == null ? matcher.group(2) : matcher.group(1) + " " + matcher.group(2));
+        }
+        return events;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
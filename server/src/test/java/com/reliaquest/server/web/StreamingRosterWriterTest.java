@@ -0,0 +1,77 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingRosterWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testWrite_matchesTheBufferedEnvelope() throws IOException {
+        final var employees = employees(3);
+        final var out = new ByteArrayOutputStream();
+
+        new StreamingRosterWriter(objectMapper, 2).write(employees, out);
+
+        assertEquals(
+                objectMapper.readTree(objectMapper.writeValueAsBytes(Response.handledWith(employees))),
+                objectMapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    public void testWrite_emptyRoster() throws IOException {
+        final var out = new ByteArrayOutputStream();
+
+        new StreamingRosterWriter(objectMapper, 2).write(List.of(), out);
+
+        assertEquals(
+                objectMapper.readTree("{\"data\":[],\"status\":\"Successfully processed request.\"}"),
+                objectMapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    public void testWrite_flushesEveryFlushEveryEmployees() throws IOException {
+        final var out = new CountingFlushes();
+
+        new StreamingRosterWriter(objectMapper, 2).write(employees(5), out);
+
+        // After the second and fourth employee, and once more when the envelope is closed.
+        assertEquals(3, out.flushes);
+        assertFalse(out.closed, "The response stream belongs to the container");
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new MockEmployee(
+                    UUID.randomUUID(), "Employee " + i, 50000 + i, 30, "Engineer", "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    private static class CountingFlushes extends ByteArrayOutputStream {
+
+        private int flushes;
+        private boolean closed;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}